@@ -0,0 +1,26 @@
+package com.steelcalc;
+
+import com.steelcalc.dao.CalculationDao;
+import com.steelcalc.dao.DatabaseConnection;
+import com.steelcalc.dao.DatabaseInitializer;
+
+/**
+ * Пересчет сводной статистики расчетов (таблица calculation_stats)
+ * по всем расчетам в базе данных
+ */
+public class RebuildStatistics {
+    public static void main(String[] args) {
+        System.out.println("=== ПЕРЕСЧЕТ СТАТИСТИКИ РАСЧЕТОВ ===\n");
+
+        DatabaseInitializer.initializeDatabase();
+
+        boolean rebuilt = new CalculationDao().rebuildStatistics();
+        DatabaseConnection.closeConnection();
+
+        if (rebuilt) {
+            System.out.println("\n=== СТАТИСТИКА ПЕРЕСЧИТАНА ===");
+        } else {
+            System.err.println("\nНе удалось пересчитать статистику");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.steelcalc.dao;
+
+import com.steelcalc.model.CalculationChange;
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.model.HistoryFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CalculationDao с кэшем прочитанных расчетов в памяти.
+ *
+ * История пользователя (getCalculationsByUser) и отдельные расчеты (getCalculationById)
+ * после первого чтения отдаются из общего для всех экземпляров LRU-кэша.
+ * Все изменения через этот DAO точечно сбрасывают затронутые записи кэша,
+ * поэтому изменять расчеты нужно через CachingCalculationDao, а не через CalculationDao.
+ *
+ * Возвращаемые из кэша объекты общие для всех вызывающих - изменять их нельзя.
+ */
+public class CachingCalculationDao extends CalculationDao {
+
+    // Лимит объема кэша можно переопределить: -Dsteelcalc.cache.maxBytes=33554432
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private static final CalculationCache CACHE = new CalculationCache(
+            Long.getLong("steelcalc.cache.maxBytes", DEFAULT_MAX_BYTES));
+
+    /**
+     * История пользователя целиком (неизменяемый список)
+     */
+    @Override
+    public List<CalculationResult> getCalculationsByUser(int userId) {
+        List<CalculationResult> cached = CACHE.getHistory(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = CACHE.getVersion();
+        return CACHE.putHistory(userId, super.getCalculationsByUser(userId), version);
+    }
+
+    @Override
+    public CalculationResult getCalculationById(int id) {
+        CalculationResult cached = CACHE.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = CACHE.getVersion();
+        CalculationResult calculation = super.getCalculationById(id);
+        if (calculation != null) {
+            CACHE.put(calculation, version);
+        }
+        return calculation;
+    }
+
+    @Override
+    public boolean saveCalculation(CalculationResult calculation) {
+        boolean saved = super.saveCalculation(calculation);
+        if (saved) {
+            CACHE.onWritten(calculation);
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Integer> saveCalculations(List<CalculationResult> calculations, int batchSize) {
+        List<Integer> ids = super.saveCalculations(calculations, batchSize);
+        // Сохранены первые ids.size() расчетов (порции фиксируются по очереди)
+        for (int i = 0; i < ids.size(); i++) {
+            CACHE.onWritten(calculations.get(i));
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean updateCalculation(CalculationResult calculation) {
+        boolean updated = super.updateCalculation(calculation);
+        if (updated) {
+            CACHE.onWritten(calculation);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteCalculation(int id, int userId) {
+        boolean deleted = super.deleteCalculation(id, userId);
+        if (deleted) {
+            CACHE.onDeleted(userId, List.of(id));
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteCalculations(int userId, Collection<Integer> ids) {
+        int deleted = super.deleteCalculations(userId, ids);
+        if (deleted > 0) {
+            CACHE.onDeleted(userId, new ArrayList<>(ids));
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteCalculations(int userId, HistoryFilter filter) {
+        int deleted = super.deleteCalculations(userId, filter);
+        if (deleted > 0) {
+            CACHE.invalidateUser(userId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Изменения из журнала применяются и к кэшу: затронутые расчеты сбрасываются.
+     * Так кэш узнает и об изменениях, сделанных в обход этого DAO.
+     */
+    @Override
+    public List<CalculationChange> changesSince(int userId, long seq) {
+        List<CalculationChange> changes = super.changesSince(userId, seq);
+        if (changes == null) {
+            CACHE.invalidateUser(userId);
+        } else if (!changes.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(changes.size());
+            for (CalculationChange change : changes) {
+                ids.add(change.getCalculationId());
+            }
+            CACHE.onDeleted(userId, ids);
+        }
+        return changes;
+    }
+
+    /**
+     * Счетчики кэша: hits, misses, evictions (вытесненные расчеты),
+     * weightBytes и maxBytes (оценка занятого объема и лимит)
+     */
+    public static Map<String, Object> getCacheStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", CACHE.getHitCount());
+        stats.put("misses", CACHE.getMissCount());
+        stats.put("evictions", CACHE.getEvictionCount());
+        stats.put("weightBytes", CACHE.getWeightBytes());
+        stats.put("maxBytes", CACHE.getMaxBytes());
+        return stats;
+    }
+
+    /**
+     * Полная очистка кэша (например, после изменения БД в обход DAO)
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+}
@@ -0,0 +1,219 @@
+package com.steelcalc.dao;
+
+import com.steelcalc.model.CalculationResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ограниченный по объему LRU-кэш расчетов, сгруппированных по пользователям.
+ *
+ * Для каждого пользователя хранятся отдельные расчеты по ID и, если загружалась,
+ * вся история целиком. Объем оценивается по размеру расчетов (строки и параметры);
+ * при превышении лимита вытесняются пользователи, к которым дольше всего не обращались.
+ *
+ * Загрузка из БД и запись в кэш не атомарны, поэтому каждое изменение данных
+ * увеличивает версию кэша: результат, прочитанный до изменения, в кэш уже не попадет.
+ */
+class CalculationCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<Integer, UserEntry> users = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Integer> ownerById = new HashMap<>();
+    private long weightBytes;
+    private long version;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    CalculationCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Текущая версия; запоминается перед чтением из БД и передается в put-методы
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized List<CalculationResult> getHistory(int userId) {
+        UserEntry entry = users.get(userId);
+        if (entry != null && entry.history != null) {
+            hitCount++;
+            return entry.history;
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Сохранение всей истории пользователя, прочитанной при версии readVersion
+     *
+     * @return список, который следует вернуть вызывающему коду (неизменяемый)
+     */
+    synchronized List<CalculationResult> putHistory(int userId, List<CalculationResult> history, long readVersion) {
+        List<CalculationResult> snapshot = Collections.unmodifiableList(new ArrayList<>(history));
+        if (readVersion != version) {
+            return snapshot; // За время чтения данные изменились
+        }
+
+        UserEntry entry = users.computeIfAbsent(userId, id -> new UserEntry());
+        for (CalculationResult calc : snapshot) {
+            putInEntry(userId, entry, calc);
+        }
+        entry.history = snapshot;
+        evictIfNeeded();
+        return snapshot;
+    }
+
+    synchronized CalculationResult get(int id) {
+        Integer userId = ownerById.get(id);
+        UserEntry entry = userId != null ? users.get(userId) : null;
+        CalculationResult calc = entry != null ? entry.byId.get(id) : null;
+        if (calc != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return calc;
+    }
+
+    /**
+     * Сохранение отдельного расчета, прочитанного при версии readVersion
+     */
+    synchronized void put(CalculationResult calc, long readVersion) {
+        if (readVersion != version) {
+            return;
+        }
+        putInEntry(calc.getUserId(), users.computeIfAbsent(calc.getUserId(), id -> new UserEntry()), calc);
+        evictIfNeeded();
+    }
+
+    /**
+     * Расчет сохранен или изменен: кэшируется его копия, история пользователя сбрасывается
+     * (меняется ее состав или порядок)
+     */
+    synchronized void onWritten(CalculationResult calc) {
+        version++;
+        UserEntry entry = users.computeIfAbsent(calc.getUserId(), id -> new UserEntry());
+        entry.history = null;
+        putInEntry(calc.getUserId(), entry, copyOf(calc));
+        evictIfNeeded();
+    }
+
+    /**
+     * Расчеты пользователя удалены (или изменены в обход кэша): их записи
+     * и история пользователя сбрасываются
+     */
+    synchronized void onDeleted(int userId, Iterable<Integer> ids) {
+        version++;
+        UserEntry entry = users.get(userId);
+        if (entry == null) {
+            return;
+        }
+        entry.history = null;
+        for (Integer id : ids) {
+            CalculationResult removed = entry.byId.remove(id);
+            if (removed != null) {
+                ownerById.remove(id);
+                weightBytes -= estimateBytes(removed);
+            }
+        }
+    }
+
+    /**
+     * Изменение, затронувшее неизвестный набор расчетов пользователя (удаление по фильтру)
+     */
+    synchronized void invalidateUser(int userId) {
+        version++;
+        UserEntry entry = users.remove(userId);
+        if (entry != null) {
+            dropEntry(entry);
+        }
+    }
+
+    synchronized void clear() {
+        version++;
+        users.clear();
+        ownerById.clear();
+        weightBytes = 0;
+    }
+
+    synchronized long getHitCount() { return hitCount; }
+    synchronized long getMissCount() { return missCount; }
+    synchronized long getEvictionCount() { return evictionCount; }
+    synchronized long getWeightBytes() { return weightBytes; }
+    long getMaxBytes() { return maxBytes; }
+
+    private void putInEntry(int userId, UserEntry entry, CalculationResult calc) {
+        CalculationResult previous = entry.byId.put(calc.getId(), calc);
+        if (previous != null) {
+            weightBytes -= estimateBytes(previous);
+        }
+        ownerById.put(calc.getId(), userId);
+        weightBytes += estimateBytes(calc);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<UserEntry> eldest = users.values().iterator();
+        while (weightBytes > maxBytes && eldest.hasNext()) {
+            UserEntry entry = eldest.next();
+            eldest.remove();
+            evictionCount += entry.byId.size();
+            dropEntry(entry);
+        }
+    }
+
+    private void dropEntry(UserEntry entry) {
+        for (Map.Entry<Integer, CalculationResult> cached : entry.byId.entrySet()) {
+            ownerById.remove(cached.getKey());
+            weightBytes -= estimateBytes(cached.getValue());
+        }
+        entry.byId.clear();
+        entry.history = null;
+    }
+
+    /**
+     * Приблизительный объем расчета в памяти: объект, строки (2 байта на символ)
+     * и записи карт параметров (ключ, Double, узел HashMap)
+     */
+    private static long estimateBytes(CalculationResult calc) {
+        long bytes = 160;
+        bytes += 2L * length(calc.getTitle()) + 2L * length(calc.getNotes());
+        bytes += 96L * size(calc.getInputParameters()) + 96L * size(calc.getOutputResults());
+        return bytes;
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static int size(Map<?, ?> map) {
+        return map != null ? map.size() : 0;
+    }
+
+    private static CalculationResult copyOf(CalculationResult calc) {
+        CalculationResult copy = new CalculationResult(calc.getCalculationType(), calc.getTitle());
+        copy.setId(calc.getId());
+        copy.setUserId(calc.getUserId());
+        copy.setInputParameters(calc.getInputParameters() != null
+                ? new LinkedHashMap<>(calc.getInputParameters()) : new LinkedHashMap<>());
+        copy.setOutputResults(calc.getOutputResults() != null
+                ? new LinkedHashMap<>(calc.getOutputResults()) : new LinkedHashMap<>());
+        copy.setNotes(calc.getNotes());
+        copy.setCalculationDate(calc.getCalculationDate());
+        return copy;
+    }
+
+    private static final class UserEntry {
+        private final Map<Integer, CalculationResult> byId = new HashMap<>();
+        private List<CalculationResult> history;
+    }
+}
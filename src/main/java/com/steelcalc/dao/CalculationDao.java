@@ -1,363 +1,1778 @@
-package com.steelcalc.dao;
-
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.steelcalc.model.CalculationResult;
-
-import java.sql.*;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-/**
- * Data Access Object для работы с таблицей calculations
- * Реализует CRUD операции и дополнительные функции поиска/фильтрации
- */
-public class CalculationDao {
-
-    private final ObjectMapper objectMapper;
-
-    public CalculationDao() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule()); // Для работы с LocalDateTime
-    }
-
-    /**
-     * Сохранение расчета в базу данных
-     */
-    public boolean saveCalculation(CalculationResult calculation) {
-        String sql = """
-            INSERT INTO calculations (user_id, calculation_type, title, 
-                                     input_parameters, output_results, notes, calculation_date)
-            VALUES (?, ?, ?, ?, ?, ?, ?);
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            // Преобразуем Map в JSON строки
-            String inputJson = objectMapper.writeValueAsString(calculation.getInputParameters());
-            String outputJson = objectMapper.writeValueAsString(calculation.getOutputResults());
-
-            pstmt.setInt(1, calculation.getUserId());
-            pstmt.setString(2, calculation.getCalculationType());
-            pstmt.setString(3, calculation.getTitle());
-            pstmt.setString(4, inputJson);
-            pstmt.setString(5, outputJson);
-            pstmt.setString(6, calculation.getNotes());
-
-            if (calculation.getCalculationDate() != null) {
-                pstmt.setTimestamp(7, Timestamp.valueOf(calculation.getCalculationDate()));
-            } else {
-                pstmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
-            }
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                // Получаем сгенерированный ID
-                ResultSet generatedKeys = pstmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    calculation.setId(generatedKeys.getInt(1));
-                }
-                return true;
-            }
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при сохранении расчета: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return false;
-    }
-
-    /**
-     * Получение всех расчетов пользователя
-     */
-    public List<CalculationResult> getCalculationsByUser(int userId) {
-        return getCalculationsByUser(userId, null, null);
-    }
-
-    /**
-     * Получение расчетов пользователя с фильтрацией по типу и периоду
-     */
-    public List<CalculationResult> getCalculationsByUser(int userId, String calculationType,
-                                                         LocalDateTime[] dateRange) {
-        List<CalculationResult> calculations = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("""
-            SELECT id, user_id, calculation_type, title, 
-                   input_parameters, output_results, notes, calculation_date
-            FROM calculations 
-            WHERE user_id = ?
-            """);
-
-        List<Object> params = new ArrayList<>();
-        params.add(userId);
-
-        if (calculationType != null && !calculationType.isEmpty()) {
-            sql.append(" AND calculation_type = ?");
-            params.add(calculationType);
-        }
-
-        if (dateRange != null && dateRange.length == 2) {
-            sql.append(" AND calculation_date BETWEEN ? AND ?");
-            params.add(Timestamp.valueOf(dateRange[0]));
-            params.add(Timestamp.valueOf(dateRange[1]));
-        }
-
-        sql.append(" ORDER BY calculation_date DESC");
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
-
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
-            }
-
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                calculations.add(mapRowToCalculationResult(rs));
-            }
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при получении расчетов: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return calculations;
-    }
-
-    /**
-     * Получение расчета по ID
-     */
-    public CalculationResult getCalculationById(int id) {
-        String sql = """
-            SELECT id, user_id, calculation_type, title, 
-                   input_parameters, output_results, notes, calculation_date
-            FROM calculations WHERE id = ?
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return mapRowToCalculationResult(rs);
-            }
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при получении расчета по ID: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return null;
-    }
-
-    /**
-     * Поиск расчетов по названию (поиск по подстроке)
-     */
-    public List<CalculationResult> searchCalculationsByTitle(int userId, String searchTerm) {
-        List<CalculationResult> calculations = new ArrayList<>();
-        String sql = """
-            SELECT id, user_id, calculation_type, title, 
-                   input_parameters, output_results, notes, calculation_date
-            FROM calculations 
-            WHERE user_id = ? AND title LIKE ?
-            ORDER BY calculation_date DESC
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, userId);
-            pstmt.setString(2, "%" + searchTerm + "%");
-
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                calculations.add(mapRowToCalculationResult(rs));
-            }
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при поиске расчетов: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return calculations;
-    }
-
-    /**
-     * Обновление расчета
-     */
-    public boolean updateCalculation(CalculationResult calculation) {
-        String sql = """
-            UPDATE calculations 
-            SET title = ?, notes = ?, 
-                input_parameters = ?, output_results = ?
-            WHERE id = ? AND user_id = ?
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            String inputJson = objectMapper.writeValueAsString(calculation.getInputParameters());
-            String outputJson = objectMapper.writeValueAsString(calculation.getOutputResults());
-
-            pstmt.setString(1, calculation.getTitle());
-            pstmt.setString(2, calculation.getNotes());
-            pstmt.setString(3, inputJson);
-            pstmt.setString(4, outputJson);
-            pstmt.setInt(5, calculation.getId());
-            pstmt.setInt(6, calculation.getUserId());
-
-            return pstmt.executeUpdate() > 0;
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при обновлении расчета: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return false;
-    }
-
-    /**
-     * Удаление расчета
-     */
-    public boolean deleteCalculation(int id, int userId) {
-        String sql = "DELETE FROM calculations WHERE id = ? AND user_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, id);
-            pstmt.setInt(2, userId);
-
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Ошибка при удалении расчета: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return false;
-    }
-
-    /**
-     * Получение статистики по расчетам пользователя
-     */
-    public Map<String, Object> getCalculationStatistics(int userId) {
-        Map<String, Object> stats = new HashMap<>();
-        String sql = """
-            SELECT 
-                COUNT(*) as total_count,
-                COUNT(CASE WHEN calculation_type = 'OXYGEN_LANCE' THEN 1 END) as lance_count,
-                COUNT(CASE WHEN calculation_type = 'LAVAL_NOZZLE' THEN 1 END) as nozzle_count,
-                MIN(calculation_date) as first_date,
-                MAX(calculation_date) as last_date
-            FROM calculations 
-            WHERE user_id = ?
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, userId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                stats.put("total", rs.getInt("total_count"));
-                stats.put("lanceCount", rs.getInt("lance_count"));
-                stats.put("nozzleCount", rs.getInt("nozzle_count"));
-                stats.put("firstDate", rs.getTimestamp("first_date"));
-                stats.put("lastDate", rs.getTimestamp("last_date"));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Ошибка при получении статистики: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return stats;
-    }
-
-    /**
-     * Экспорт расчетов пользователя в формате JSON
-     */
-    public String exportToJson(int userId) {
-        List<CalculationResult> calculations = getCalculationsByUser(userId);
-        try {
-            return objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(calculations);
-        } catch (Exception e) {
-            System.err.println("Ошибка при экспорте в JSON: " + e.getMessage());
-            return "[]";
-        }
-    }
-
-    /**
-     * Импорт расчетов из JSON
-     */
-    public int importFromJson(int userId, String jsonData) {
-        try {
-            List<CalculationResult> calculations = objectMapper.readValue(
-                    jsonData,
-                    new TypeReference<List<CalculationResult>>() {}
-            );
-
-            int importedCount = 0;
-            for (CalculationResult calc : calculations) {
-                calc.setId(0); // Сбрасываем ID для создания новых записей
-                calc.setUserId(userId);
-                if (saveCalculation(calc)) {
-                    importedCount++;
-                }
-            }
-
-            return importedCount;
-
-        } catch (Exception e) {
-            System.err.println("Ошибка при импорте из JSON: " + e.getMessage());
-            return 0;
-        }
-    }
-
-    /**
-     * Вспомогательный метод для преобразования строки ResultSet в объект CalculationResult
-     */
-    private CalculationResult mapRowToCalculationResult(ResultSet rs) throws Exception {
-        CalculationResult result = new CalculationResult();
-        result.setId(rs.getInt("id"));
-        result.setUserId(rs.getInt("user_id"));
-        result.setCalculationType(rs.getString("calculation_type"));
-        result.setTitle(rs.getString("title"));
-
-        // Парсим JSON строки обратно в Map
-        String inputJson = rs.getString("input_parameters");
-        String outputJson = rs.getString("output_results");
-
-        Map<String, Double> inputParams = objectMapper.readValue(
-                inputJson,
-                new TypeReference<Map<String, Double>>() {}
-        );
-
-        Map<String, Double> outputResults = objectMapper.readValue(
-                outputJson,
-                new TypeReference<Map<String, Double>>() {}
-        );
-
-        result.setInputParameters(inputParams);
-        result.setOutputResults(outputResults);
-        result.setNotes(rs.getString("notes"));
-
-        Timestamp timestamp = rs.getTimestamp("calculation_date");
-        if (timestamp != null) {
-            result.setCalculationDate(timestamp.toLocalDateTime());
-        }
-
-        return result;
-    }
+package com.steelcalc.dao;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.steelcalc.model.CalculationChange;
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.model.CalculationSummary;
+import com.steelcalc.model.HistoryFilter;
+import com.steelcalc.model.ImportResult;
+import com.steelcalc.model.PageCursor;
+import com.steelcalc.model.ParameterDirection;
+import com.steelcalc.model.ResultPage;
+import com.steelcalc.util.ProgressListener;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Data Access Object для работы с таблицей calculations
+ * Реализует CRUD операции и дополнительные функции поиска/фильтрации
+ */
+public class CalculationDao {
+
+    // Размер порции (транзакции) для пакетной вставки по умолчанию
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // Сколько последних записей журнала изменений хранить после очистки
+    public static final int CHANGE_LOG_RETAINED = 10_000;
+
+    // Как часто (в записях) сообщать о ходе экспорта/импорта
+    private static final int PROGRESS_STEP = 100;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    // Сколько ID подставлять в один запрос ... IN (...)
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO calculations (user_id, calculation_type, title, 
+                                     input_parameters, output_results, notes, calculation_date,
+                                     input_preview, output_preview, efficiency, mach_number, result_hash)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);
+            """;
+
+    // Числовые параметры расчета в нормализованном виде (для отбора и агрегатов в SQL)
+    private static final String INSERT_PARAM_SQL =
+            "INSERT INTO calculation_params (calculation_id, key_id, direction, value) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_PARAMS_SQL =
+            "DELETE FROM calculation_params WHERE calculation_id = ?";
+
+    // Результаты расчета: общие из result_store, если расчет на них ссылается, иначе собственные
+    private static final String OUTPUT_RESULTS_COLUMN =
+            "COALESCE((SELECT s.output_results FROM result_store s WHERE s.hash = result_hash), " +
+                    "output_results) AS output_results";
+
+    // Столбцы полного расчета (с JSON параметров)
+    private static final String FULL_COLUMNS =
+            "id, user_id, calculation_type, title, input_parameters, " + OUTPUT_RESULTS_COLUMN +
+                    ", notes, calculation_date";
+
+    // Общие результаты хранятся один раз в result_store, в самом расчете - пустое значение
+    private static final byte[] SHARED_OUTPUT_RESULTS = new byte[0];
+
+    // Столбцы краткого представления для списков - без JSON
+    private static final String SUMMARY_COLUMNS = """
+            id, calculation_type, title, notes, calculation_date,
+                   input_preview, output_preview, efficiency, mach_number""";
+
+    private final ObjectMapper objectMapper;
+    private final ParameterKeyDictionary keyDictionary = ParameterKeyDictionary.getShared();
+    private final ParameterCodec parameterCodec = new ParameterCodec(keyDictionary);
+    private final ResultStoreDao resultStore = new ResultStoreDao();
+
+    // Есть ли в БД полнотекстовый индекс (проверяется один раз)
+    private static volatile Boolean fullTextSearchAvailable;
+
+    public CalculationDao() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule()); // Для работы с LocalDateTime
+    }
+
+    /**
+     * Сохранение расчета в базу данных
+     */
+    public boolean saveCalculation(CalculationResult calculation) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            keyDictionary.ensureKeys(conn, parameterNames(List.of(calculation)));
+
+            // Расчет и его числовые параметры сохраняются одной транзакцией
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement paramStmt = conn.prepareStatement(INSERT_PARAM_SQL)) {
+
+                bindInsertParameters(pstmt, calculation);
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    // Получаем сгенерированный ID
+                    ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                    if (generatedKeys.next()) {
+                        int id = generatedKeys.getInt(1);
+                        addParameterBatch(paramStmt, id, calculation);
+                        paramStmt.executeBatch();
+                        conn.commit();
+                        calculation.setId(id);
+                        return true;
+                    }
+                }
+                conn.rollback();
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при сохранении расчета: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * Пакетное сохранение расчетов порциями по DEFAULT_BATCH_SIZE записей
+     */
+    public List<Integer> saveCalculations(List<CalculationResult> calculations) {
+        return saveCalculations(calculations, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Пакетное сохранение расчетов.
+     * Все записи идут через одно подготовленное выражение (addBatch), каждая порция
+     * из batchSize записей фиксируется одной транзакцией. Сгенерированные ID
+     * проставляются в объекты и возвращаются в порядке исходного списка.
+     * При ошибке откатывается только текущая порция - уже зафиксированные остаются,
+     * их ID попадают в результат.
+     */
+    public List<Integer> saveCalculations(List<CalculationResult> calculations, int batchSize) {
+        List<Integer> ids = new ArrayList<>(calculations.size());
+        if (calculations.isEmpty()) {
+            return ids;
+        }
+        int chunkSize = Math.max(1, batchSize);
+
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL);
+             PreparedStatement paramStmt = conn.prepareStatement(INSERT_PARAM_SQL);
+             Statement idStmt = conn.createStatement()) {
+
+            // Новые имена параметров регистрируем до начала транзакций
+            keyDictionary.ensureKeys(conn, parameterNames(calculations));
+            conn.setAutoCommit(false);
+
+            for (int from = 0; from < calculations.size(); from += chunkSize) {
+                List<CalculationResult> chunk =
+                        calculations.subList(from, Math.min(from + chunkSize, calculations.size()));
+                try {
+                    for (CalculationResult calculation : chunk) {
+                        bindInsertParameters(pstmt, calculation);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+
+                    long lastId;
+                    try (ResultSet rs = idStmt.executeQuery("SELECT last_insert_rowid()")) {
+                        rs.next();
+                        lastId = rs.getLong(1);
+                    }
+
+                    // Писатель один и транзакция одна, поэтому AUTOINCREMENT выдал ID подряд
+                    long firstId = lastId - chunk.size() + 1;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        addParameterBatch(paramStmt, (int) (firstId + i), chunk.get(i));
+                    }
+                    paramStmt.executeBatch();
+                    conn.commit();
+
+                    for (int i = 0; i < chunk.size(); i++) {
+                        chunk.get(i).setId((int) (firstId + i));
+                        ids.add((int) (firstId + i));
+                    }
+                } catch (Exception e) {
+                    pstmt.clearBatch();
+                    paramStmt.clearBatch();
+                    conn.rollback();
+                    throw e;
+                }
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при пакетном сохранении расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return ids;
+    }
+
+    /**
+     * Получение всех расчетов пользователя
+     */
+    public List<CalculationResult> getCalculationsByUser(int userId) {
+        return getCalculationsByUser(userId, null, null);
+    }
+
+    /**
+     * Получение расчетов пользователя с фильтрацией по типу и периоду
+     */
+    public List<CalculationResult> getCalculationsByUser(int userId, String calculationType,
+                                                         LocalDateTime[] dateRange) {
+        List<CalculationResult> calculations = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT " + FULL_COLUMNS +
+                " FROM calculations WHERE user_id = ?");
+
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+
+        appendFilterConditions(sql, params, new HistoryFilter(calculationType, dateRange, null));
+
+        sql.append(" ORDER BY calculation_date DESC, id DESC");
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                calculations.add(mapRowToCalculationResult(rs));
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при получении расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return calculations;
+    }
+
+    /**
+     * Постраничное получение расчетов пользователя (keyset pagination).
+     * Строки упорядочены по (calculation_date, id) по убыванию; следующая страница
+     * начинается строго после курсора, поэтому стоимость запроса не зависит от того,
+     * насколько далеко пролистана история. Фильтр может быть null.
+     *
+     * @param after курсор из предыдущей страницы или null для первой страницы
+     * @param limit максимальное число строк на странице
+     */
+    public ResultPage<CalculationResult> getCalculationsPage(int userId, HistoryFilter filter,
+                                                            PageCursor after, int limit) {
+        return queryPage(FULL_COLUMNS, userId, filter, after, limit, this::mapRowToCalculationResult);
+    }
+
+    /**
+     * Постраничное получение кратких представлений расчетов для таблицы истории.
+     * Читает только превью и ключевые результаты, JSON параметров не разбирается.
+     */
+    public ResultPage<CalculationSummary> getCalculationSummariesPage(int userId, HistoryFilter filter,
+                                                                     PageCursor after, int limit) {
+        return queryPage(SUMMARY_COLUMNS, userId, filter, after, limit, this::mapRowToCalculationSummary);
+    }
+
+    /**
+     * Общая часть постраничных запросов: фильтр, условие курсора, лимит
+     */
+    private <T> ResultPage<T> queryPage(String columns, int userId, HistoryFilter filter,
+                                        PageCursor after, int limit, RowMapper<T> mapper) {
+        List<T> items = new ArrayList<>();
+        PageCursor nextCursor = null;
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(columns)
+                .append(" FROM calculations WHERE user_id = ?");
+
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilterConditions(sql, params, filter);
+        appendPageConditions(sql, params, after, limit);
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            Object lastDateKey = null;
+            int lastId = 0;
+            while (rs.next()) {
+                if (items.size() == limit) {
+                    // Есть хотя бы одна строка сверх лимита - значит, страница не последняя
+                    nextCursor = new PageCursor(lastDateKey, lastId);
+                    break;
+                }
+                lastDateKey = rs.getObject("calculation_date");
+                lastId = rs.getInt("id");
+                items.add(mapper.map(rs));
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при постраничном получении расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return new ResultPage<>(items, nextCursor);
+    }
+
+    /**
+     * Получение расчета по ID
+     */
+    public CalculationResult getCalculationById(int id) {
+        String sql = "SELECT " + FULL_COLUMNS + " FROM calculations WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return mapRowToCalculationResult(rs);
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при получении расчета по ID: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Поиск расчетов по названию (поиск по подстроке)
+     */
+    public List<CalculationResult> searchCalculationsByTitle(int userId, String searchTerm) {
+        List<CalculationResult> calculations = new ArrayList<>();
+        String sql = "SELECT " + FULL_COLUMNS +
+                " FROM calculations WHERE user_id = ? AND title LIKE ? ORDER BY calculation_date DESC";
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            pstmt.setString(2, "%" + searchTerm + "%");
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                calculations.add(mapRowToCalculationResult(rs));
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при поиске расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return calculations;
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и примечаниям (индекс FTS5).
+     * Каждое слово запроса ищется по префиксу ("кисл" найдет "кислородная"),
+     * запрос в кавычках ищется как фраза. Результаты упорядочены по релевантности,
+     * совпадение в названии весит больше, чем в примечаниях.
+     */
+    public List<CalculationSummary> fullTextSearch(int userId, String query, int limit) {
+        return fullTextSearch(userId, query, null, limit);
+    }
+
+    /**
+     * Полнотекстовый поиск с дополнительными условиями фильтра (тип, период).
+     * Поисковый запрос из фильтра не используется - его заменяет сам запрос.
+     * Если FTS5 недоступен, выполняется обычный поиск по подстроке в названии.
+     */
+    public List<CalculationSummary> fullTextSearch(int userId, String query, HistoryFilter filter, int limit) {
+        List<CalculationSummary> results = new ArrayList<>();
+        String matchExpression = buildMatchExpression(query);
+        if (matchExpression == null) {
+            return results;
+        }
+
+        HistoryFilter conditions = filter != null
+                ? new HistoryFilter(filter.getCalculationType(),
+                        new LocalDateTime[]{filter.getDateFrom(), filter.getDateTo()}, null)
+                : null;
+
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        boolean fullText = isFullTextSearchAvailable();
+        if (fullText) {
+            // Ранжирование во вложенном запросе: наружу выходят только rowid и ранг,
+            // поэтому столбцы title/notes в основном запросе однозначны
+            sql.append("SELECT ").append(SUMMARY_COLUMNS).append("""
+                     FROM calculations
+                    JOIN (SELECT rowid AS match_id, bm25(calculations_fts, 10.0, 1.0) AS rank
+                          FROM calculations_fts WHERE calculations_fts MATCH ?) m
+                      ON m.match_id = calculations.id
+                    WHERE user_id = ?""");
+            params.add(matchExpression);
+            params.add(userId);
+        } else {
+            sql.append("SELECT ").append(SUMMARY_COLUMNS)
+                    .append(" FROM calculations WHERE user_id = ?")
+                    .append(" AND title LIKE ? ESCAPE '\\'");
+            params.add(userId);
+            params.add("%" + escapeLike(query.trim()) + "%");
+        }
+
+        appendFilterConditions(sql, params, conditions);
+        sql.append(fullText ? " ORDER BY m.rank" : " ORDER BY calculation_date DESC, id DESC");
+        sql.append(" LIMIT ?");
+        params.add(limit);
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                results.add(mapRowToCalculationSummary(rs));
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при полнотекстовом поиске: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return results;
+    }
+
+    /**
+     * Количество расчетов пользователя (из сводной статистики, без обхода расчетов)
+     */
+    public int countCalculations(int userId) {
+        String sql = "SELECT TOTAL(calc_count) FROM calculation_stats WHERE user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при подсчете расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Количество расчетов пользователя, подходящих под фильтр. Условия те же,
+     * что у постраничной загрузки и удаления по фильтру. Пустой фильтр
+     * считается по сводной статистике.
+     */
+    public int countCalculations(int userId, HistoryFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return countCalculations(userId);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM calculations WHERE user_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilterConditions(sql, params, filter);
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при подсчете расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Обновление расчета
+     */
+    public boolean updateCalculation(CalculationResult calculation) {
+        String sql = """
+            UPDATE calculations 
+            SET title = ?, notes = ?, 
+                input_parameters = ?, output_results = ?, result_hash = NULL,
+                input_preview = ?, output_preview = ?, efficiency = ?, mach_number = ?
+            WHERE id = ? AND user_id = ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            keyDictionary.ensureKeys(conn, parameterNames(List.of(calculation)));
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 PreparedStatement deleteParams = conn.prepareStatement(DELETE_PARAMS_SQL);
+                 PreparedStatement paramStmt = conn.prepareStatement(INSERT_PARAM_SQL)) {
+
+                pstmt.setString(1, calculation.getTitle());
+                pstmt.setString(2, calculation.getNotes());
+                pstmt.setBytes(3, parameterCodec.encode(calculation.getInputParameters()));
+                pstmt.setBytes(4, parameterCodec.encode(calculation.getOutputResults()));
+                bindSummaryColumns(pstmt, 5, calculation);
+                pstmt.setInt(9, calculation.getId());
+                pstmt.setInt(10, calculation.getUserId());
+
+                if (pstmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+
+                // Числовые параметры заменяем целиком
+                deleteParams.setInt(1, calculation.getId());
+                deleteParams.executeUpdate();
+                addParameterBatch(paramStmt, calculation.getId(), calculation);
+                paramStmt.executeBatch();
+
+                conn.commit();
+                return true;
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при обновлении расчета: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * Поиск расчетов, у которых числовой параметр попадает в диапазон [min, max]
+     * (например, сопла с числом Маха от 2 до 3). Отбор выполняется в SQL по индексу
+     * (key_id, direction, value) таблицы calculation_params, JSON не разбирается.
+     * Результаты упорядочены по значению параметра.
+     *
+     * @param calculationType тип расчета или null для всех типов
+     */
+    public List<CalculationSummary> findByParameterRange(int userId, String calculationType,
+                                                         ParameterDirection direction, String key,
+                                                         double min, double max, int limit) {
+        List<CalculationSummary> results = new ArrayList<>();
+        Integer keyId = keyDictionary.findId(key);
+        if (keyId == null) {
+            return results; // Такой параметр никогда не сохранялся
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append("""
+                 FROM calculation_params
+                JOIN calculations ON calculations.id = calculation_params.calculation_id
+                WHERE key_id = ? AND direction = ? AND value BETWEEN ? AND ?
+                  AND user_id = ?""");
+        List<Object> params = new ArrayList<>(List.of(keyId, direction.getCode(), min, max, userId));
+        if (calculationType != null) {
+            sql.append(" AND calculation_type = ?");
+            params.add(calculationType);
+        }
+        sql.append(" ORDER BY value LIMIT ?");
+        params.add(limit);
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                results.add(mapRowToCalculationSummary(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при поиске по параметру: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return results;
+    }
+
+    /**
+     * Агрегаты числового параметра по расчетам пользователя, вычисляемые в SQL:
+     * count, min, max, avg (min/max/avg отсутствуют, если значений нет)
+     *
+     * @param calculationType тип расчета или null для всех типов
+     */
+    public Map<String, Object> aggregateParameter(int userId, String calculationType,
+                                                  ParameterDirection direction, String key) {
+        Map<String, Object> aggregate = new HashMap<>();
+        aggregate.put("count", 0);
+        Integer keyId = keyDictionary.findId(key);
+        if (keyId == null) {
+            return aggregate;
+        }
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT COUNT(*) AS value_count, MIN(value) AS min_value,
+                       MAX(value) AS max_value, AVG(value) AS avg_value
+                FROM calculation_params
+                JOIN calculations ON calculations.id = calculation_params.calculation_id
+                WHERE key_id = ? AND direction = ? AND user_id = ?""");
+        if (calculationType != null) {
+            sql.append(" AND calculation_type = ?");
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            pstmt.setInt(1, keyId);
+            pstmt.setInt(2, direction.getCode());
+            pstmt.setInt(3, userId);
+            if (calculationType != null) {
+                pstmt.setString(4, calculationType);
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                int count = rs.getInt("value_count");
+                aggregate.put("count", count);
+                if (count > 0) {
+                    aggregate.put("min", rs.getDouble("min_value"));
+                    aggregate.put("max", rs.getDouble("max_value"));
+                    aggregate.put("avg", rs.getDouble("avg_value"));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при агрегировании параметра: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return aggregate;
+    }
+
+    /**
+     * Заполнение таблицы числовых параметров для расчетов, сохраненных до ее появления.
+     * Строки обрабатываются порциями по ID, каждая порция - своей транзакцией.
+     *
+     * @return количество обработанных расчетов
+     */
+    public int backfillParameters() {
+        String selectSql = "SELECT id, input_parameters, " + OUTPUT_RESULTS_COLUMN +
+                " FROM calculations c WHERE id > ? AND NOT EXISTS (" +
+                "SELECT 1 FROM calculation_params p WHERE p.calculation_id = c.id) ORDER BY id LIMIT ?";
+
+        int processed = 0;
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement paramStmt = conn.prepareStatement(INSERT_PARAM_SQL)) {
+
+            int lastId = 0;
+            while (true) {
+                List<CalculationResult> chunk = new ArrayList<>(DEFAULT_BATCH_SIZE);
+                select.setInt(1, lastId);
+                select.setInt(2, DEFAULT_BATCH_SIZE);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        CalculationResult calc = new CalculationResult();
+                        calc.setId(rs.getInt("id"));
+                        calc.setInputParameters(readParameters(rs, "input_parameters"));
+                        calc.setOutputResults(readParameters(rs, "output_results"));
+                        chunk.add(calc);
+                    }
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                keyDictionary.ensureKeys(conn, parameterNames(chunk));
+                conn.setAutoCommit(false);
+                for (CalculationResult calc : chunk) {
+                    addParameterBatch(paramStmt, calc.getId(), calc);
+                }
+                paramStmt.executeBatch();
+                conn.commit();
+                conn.setAutoCommit(true);
+
+                processed += chunk.size();
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+
+            if (processed > 0) {
+                System.out.println("Заполнены числовые параметры для расчетов: " + processed);
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при заполнении числовых параметров: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return processed;
+    }
+
+    /**
+     * Перевод карт параметров, сохраненных в JSON, в двоичный формат ParameterCodec.
+     * Выполняется порциями по ID, каждая порция - своей транзакцией; чтение
+     * непереведенных строк работает и до миграции.
+     *
+     * @return количество переведенных расчетов
+     */
+    public int migrateParametersToBinary() {
+        String selectSql = """
+            SELECT id, input_parameters, output_results FROM calculations
+            WHERE id > ? AND (typeof(input_parameters) = 'text' OR typeof(output_results) = 'text')
+            ORDER BY id LIMIT ?
+            """;
+        String updateSql = "UPDATE calculations SET input_parameters = ?, output_results = ? WHERE id = ?";
+
+        int migrated = 0;
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+
+            int lastId = 0;
+            while (true) {
+                List<CalculationResult> chunk = new ArrayList<>(DEFAULT_BATCH_SIZE);
+                select.setInt(1, lastId);
+                select.setInt(2, DEFAULT_BATCH_SIZE);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        CalculationResult calc = new CalculationResult();
+                        calc.setId(rs.getInt("id"));
+                        calc.setInputParameters(readParameters(rs, "input_parameters"));
+                        calc.setOutputResults(readParameters(rs, "output_results"));
+                        chunk.add(calc);
+                    }
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                keyDictionary.ensureKeys(conn, parameterNames(chunk));
+                conn.setAutoCommit(false);
+                for (CalculationResult calc : chunk) {
+                    update.setBytes(1, parameterCodec.encode(calc.getInputParameters()));
+                    update.setBytes(2, parameterCodec.encode(calc.getOutputResults()));
+                    update.setInt(3, calc.getId());
+                    update.addBatch();
+                }
+                update.executeBatch();
+                conn.commit();
+                conn.setAutoCommit(true);
+
+                migrated += chunk.size();
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+
+            if (migrated > 0) {
+                System.out.println("Параметры переведены в двоичный формат для расчетов: " + migrated);
+            }
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при переводе параметров в двоичный формат: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return migrated;
+    }
+
+    /**
+     * Удаление расчета
+     */
+    public boolean deleteCalculation(int id, int userId) {
+        String sql = "DELETE FROM calculations WHERE id = ? AND user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            pstmt.setInt(2, userId);
+
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при удалении расчета: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * Удаление расчетов пользователя по списку ID одной транзакцией.
+     * Список разбивается на части, чтобы не превысить лимит параметров запроса SQLite.
+     *
+     * @return количество удаленных расчетов (0, если транзакция откатилась)
+     */
+    public int deleteCalculations(int userId, Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Integer> idList = new ArrayList<>(ids);
+
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int deleted = 0;
+                for (int from = 0; from < idList.size(); from += DELETE_CHUNK_SIZE) {
+                    List<Integer> chunk = idList.subList(from, Math.min(from + DELETE_CHUNK_SIZE, idList.size()));
+                    String sql = "DELETE FROM calculations WHERE user_id = ? AND id IN (" +
+                            String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setInt(1, userId);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            pstmt.setInt(i + 2, chunk.get(i));
+                        }
+                        deleted += pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при удалении расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Удаление всех расчетов пользователя, подходящих под фильтр (тип, период, поисковый запрос),
+     * одним запросом. Пустой фильтр (или null) удаляет все расчеты пользователя.
+     *
+     * @return количество удаленных расчетов
+     */
+    public int deleteCalculations(int userId, HistoryFilter filter) {
+        StringBuilder sql = new StringBuilder("DELETE FROM calculations WHERE user_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        appendFilterConditions(sql, params, filter);
+
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            // Один оператор выполняется атомарно - отдельная транзакция не нужна
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при удалении расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Удаление всех расчетов пользователя
+     *
+     * @return количество удаленных расчетов
+     */
+    public int deleteAllCalculations(int userId) {
+        return deleteCalculations(userId, (HistoryFilter) null);
+    }
+
+    /**
+     * Номер последнего изменения в журнале (0, если изменений не было).
+     * Запоминается перед полной загрузкой данных, дальше достаточно changesSince.
+     */
+    public long getLatestChangeSeq() {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM calculation_changes")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("Ошибка при чтении журнала изменений: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Изменения расчетов пользователя с номером больше seq, в порядке возрастания номера.
+     *
+     * @return список изменений или null, если нужные записи журнала уже удалены
+     *         (или журнал недоступен) и данные следует перечитать полностью
+     */
+    public List<CalculationChange> changesSince(int userId, long seq) {
+        String sql = """
+            SELECT seq, calculation_id, change_type FROM calculation_changes
+            WHERE user_id = ? AND seq > ?
+            ORDER BY seq
+            """;
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            // Журнал очищается с начала: если первая сохранившаяся запись позже seq + 1,
+            // часть изменений потеряна
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MIN(seq) FROM calculation_changes")) {
+                long oldest = rs.next() ? rs.getLong(1) : 0;
+                if (oldest > seq + 1) {
+                    return null;
+                }
+            }
+
+            List<CalculationChange> changes = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                pstmt.setLong(2, seq);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    changes.add(new CalculationChange(rs.getLong("seq"), rs.getInt("calculation_id"),
+                            CalculationChange.ChangeType.valueOf(rs.getString("change_type"))));
+                }
+            }
+            return changes;
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при чтении журнала изменений: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Очистка журнала изменений: остаются только keepLast последних записей
+     *
+     * @return количество удаленных записей
+     */
+    public int pruneChangeLog(int keepLast) {
+        String sql = """
+            DELETE FROM calculation_changes
+            WHERE seq <= (SELECT MAX(seq) FROM calculation_changes) - ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, keepLast);
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Ошибка при очистке журнала изменений: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Краткие представления расчетов пользователя по списку ID с учетом фильтра
+     * (расчеты, не подходящие под фильтр, не возвращаются)
+     */
+    public List<CalculationSummary> getCalculationSummariesByIds(int userId, Collection<Integer> ids,
+                                                                 HistoryFilter filter) {
+        List<CalculationSummary> summaries = new ArrayList<>();
+        List<Integer> idList = new ArrayList<>(ids);
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            for (int from = 0; from < idList.size(); from += DELETE_CHUNK_SIZE) {
+                List<Integer> chunk = idList.subList(from, Math.min(from + DELETE_CHUNK_SIZE, idList.size()));
+                StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS)
+                        .append(" FROM calculations WHERE user_id = ? AND id IN (")
+                        .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+                        .append(")");
+                List<Object> params = new ArrayList<>();
+                params.add(userId);
+                params.addAll(chunk);
+                appendFilterConditions(sql, params, filter);
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params.size(); i++) {
+                        pstmt.setObject(i + 1, params.get(i));
+                    }
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        summaries.add(mapRowToCalculationSummary(rs));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при получении расчетов по ID: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Получение статистики по расчетам пользователя
+     */
+    public Map<String, Object> getCalculationStatistics(int userId) {
+        Map<String, Object> stats = new HashMap<>();
+        // Сводная таблица поддерживается триггерами: не более одной строки на тип расчета
+        String sql = """
+            SELECT calculation_type, calc_count, first_date, last_date,
+                   efficiency_sum, efficiency_count
+            FROM calculation_stats
+            WHERE user_id = ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+
+            int total = 0;
+            int lanceCount = 0;
+            int nozzleCount = 0;
+            Timestamp firstDate = null;
+            Timestamp lastDate = null;
+            double efficiencySum = 0;
+            int efficiencyCount = 0;
+
+            while (rs.next()) {
+                int count = rs.getInt("calc_count");
+                total += count;
+                if ("OXYGEN_LANCE".equals(rs.getString("calculation_type"))) {
+                    lanceCount += count;
+                } else {
+                    nozzleCount += count;
+                }
+
+                Timestamp first = rs.getTimestamp("first_date");
+                if (first != null && (firstDate == null || first.before(firstDate))) {
+                    firstDate = first;
+                }
+                Timestamp last = rs.getTimestamp("last_date");
+                if (last != null && (lastDate == null || last.after(lastDate))) {
+                    lastDate = last;
+                }
+
+                efficiencySum += rs.getDouble("efficiency_sum");
+                efficiencyCount += rs.getInt("efficiency_count");
+            }
+
+            stats.put("total", total);
+            stats.put("lanceCount", lanceCount);
+            stats.put("nozzleCount", nozzleCount);
+            stats.put("firstDate", firstDate);
+            stats.put("lastDate", lastDate);
+            if (efficiencyCount > 0) {
+                stats.put("averageEfficiency", efficiencySum / efficiencyCount);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при получении статистики: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return stats;
+    }
+
+    /**
+     * Пересчет сводной статистики по всем расчетам (для существующих БД
+     * или если таблица статистики разошлась с данными)
+     *
+     * @return true, если статистика пересчитана
+     */
+    public boolean rebuildStatistics() {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            rebuildStatistics(conn);
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Ошибка при пересчете статистики: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Пересчет статистики на переданном подключении (без управления транзакцией)
+     */
+    static void rebuildStatistics(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM calculation_stats");
+            int rows = stmt.executeUpdate("""
+                INSERT INTO calculation_stats (user_id, calculation_type, calc_count, first_date, last_date,
+                                               efficiency_sum, efficiency_count)
+                SELECT user_id, calculation_type, COUNT(*), MIN(calculation_date), MAX(calculation_date),
+                       TOTAL(efficiency), COUNT(efficiency)
+                FROM calculations
+                GROUP BY user_id, calculation_type
+                """);
+            System.out.println("Статистика расчетов пересчитана, групп: " + rows);
+        }
+    }
+
+    /**
+     * Экспорт расчетов пользователя в формате JSON
+     */
+    public String exportToJson(int userId) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            exportToJson(userId, out, false, null);
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            System.err.println("Ошибка при экспорте в JSON: " + e.getMessage());
+            return "[]";
+        }
+    }
+
+    /**
+     * Потоковый экспорт расчетов пользователя в JSON.
+     * Строки читаются курсором и сразу пишутся в поток через JsonGenerator,
+     * поэтому расход памяти не зависит от размера истории.
+     * Поток out не закрывается - им владеет вызывающий код.
+     *
+     * @param gzip     сжимать ли вывод в формате gzip
+     * @param listener ход экспорта в записях (может быть null); false - отмена
+     * @return количество выгруженных расчетов или -1, если экспорт отменен
+     */
+    public int exportToJson(int userId, OutputStream out, boolean gzip,
+                            ProgressListener listener) throws IOException, SQLException {
+        String sql = "SELECT " + FULL_COLUMNS +
+                " FROM calculations WHERE user_id = ? ORDER BY calculation_date DESC, id DESC";
+
+        long total = listener != null ? countCalculations(userId) : -1;
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, STREAM_BUFFER_SIZE) : null;
+        // Сброс в поток после каждой записи не нужен - буферизацией управляет генератор
+        ObjectWriter rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        int exported = 0;
+        boolean cancelled = false;
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             JsonGenerator generator = objectMapper.getFactory()
+                     .createGenerator(gzipOut != null ? gzipOut : out, JsonEncoding.UTF8)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rowWriter.writeValue(generator, mapRowToCalculationResult(rs));
+                    exported++;
+
+                    if (listener != null && exported % PROGRESS_STEP == 0
+                            && !listener.onProgress(exported, total)) {
+                        cancelled = true;
+                        break;
+                    }
+                }
+            } catch (IOException | SQLException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Ошибка при чтении расчета: " + e.getMessage(), e);
+            }
+
+            generator.writeEndArray();
+        }
+
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+
+        if (cancelled) {
+            return -1;
+        }
+        if (listener != null) {
+            listener.onProgress(exported, total);
+        }
+        return exported;
+    }
+
+    /**
+     * Импорт расчетов из JSON
+     */
+    public int importFromJson(int userId, String jsonData) {
+        try {
+            byte[] bytes = jsonData.getBytes(StandardCharsets.UTF_8);
+            return importFromJson(userId, new ByteArrayInputStream(bytes), bytes.length, null)
+                    .getImportedCount();
+        } catch (Exception e) {
+            System.err.println("Ошибка при импорте из JSON: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Потоковый импорт расчетов из JSON-массива (в формате экспорта).
+     * Массив разбирается по одной записи, каждая запись проверяется,
+     * корректные сохраняются порциями по DEFAULT_BATCH_SIZE в отдельных транзакциях,
+     * поэтому в памяти находится не больше одной порции. Сжатый gzip поток
+     * распознается автоматически. Поток in не закрывается.
+     *
+     * @param totalBytes размер исходных данных в байтах (или -1, если неизвестен)
+     * @param listener   ход импорта в прочитанных байтах (может быть null); false - отмена
+     */
+    public ImportResult importFromJson(int userId, InputStream in, long totalBytes,
+                                       ProgressListener listener) throws IOException {
+        ImportResult result = new ImportResult();
+        CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(in, STREAM_BUFFER_SIZE));
+        InputStream source = isGzip(counter)
+                ? new BufferedInputStream(new GZIPInputStream(counter, STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE)
+                : counter;
+
+        List<CalculationResult> batch = new ArrayList<>(DEFAULT_BATCH_SIZE);
+        List<Integer> batchRecords = new ArrayList<>(DEFAULT_BATCH_SIZE);
+        int recordNumber = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(source)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Ожидался JSON-массив расчетов");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Файл оборван: нет конца массива");
+                }
+                recordNumber++;
+
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    result.addSkipped("Запись " + recordNumber + ": ожидался объект");
+                    continue;
+                }
+
+                // В памяти одновременно только дерево текущей записи
+                JsonNode node = parser.readValueAsTree();
+                String error = validateImportRecord(node);
+                if (error != null) {
+                    result.addSkipped("Запись " + recordNumber + ": " + error);
+                    continue;
+                }
+
+                try {
+                    CalculationResult calc = objectMapper.treeToValue(node, CalculationResult.class);
+                    calc.setId(0); // Сбрасываем ID для создания новых записей
+                    calc.setUserId(userId);
+                    // Результаты из файла не попадают в общее хранилище: у импортированного
+                    // расчета всегда собственная копия результатов
+                    calc.setResultHash(null);
+                    if (calc.getCalculationDate() == null) {
+                        calc.setCalculationDate(LocalDateTime.now());
+                    }
+                    batch.add(calc);
+                    batchRecords.add(recordNumber);
+                } catch (Exception e) {
+                    result.addSkipped("Запись " + recordNumber + ": " + e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() == DEFAULT_BATCH_SIZE) {
+                    saveImportBatch(batch, batchRecords, result);
+                }
+
+                if (listener != null && recordNumber % PROGRESS_STEP == 0
+                        && !listener.onProgress(counter.getCount(), totalBytes)) {
+                    result.setCancelled(true);
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Испорченный фрагмент файла: дальше разбирать нельзя, но прочитанное сохраняем
+            result.addError("Ошибка разбора JSON после записи " + recordNumber + ": " +
+                    e.getOriginalMessage());
+        } finally {
+            // Уже проверенные записи сохраняем и при отмене, и при ошибке разбора дальше по файлу
+            saveImportBatch(batch, batchRecords, result);
+        }
+
+        if (listener != null && !result.isCancelled()) {
+            listener.onProgress(counter.getCount(), totalBytes);
+        }
+        return result;
+    }
+
+    /**
+     * Проверка записи импорта. Возвращает описание ошибки или null, если запись корректна.
+     */
+    private String validateImportRecord(JsonNode node) {
+        String type = node.path("calculationType").asText("");
+        if (!"OXYGEN_LANCE".equals(type) && !"LAVAL_NOZZLE".equals(type)) {
+            return "неизвестный тип расчета '" + type + "'";
+        }
+        if (node.path("title").asText("").isBlank()) {
+            return "не указано название";
+        }
+
+        for (String field : new String[]{"inputParameters", "outputResults"}) {
+            JsonNode params = node.get(field);
+            if (params == null || !params.isObject()) {
+                return "нет объекта " + field;
+            }
+            var values = params.fields();
+            while (values.hasNext()) {
+                var entry = values.next();
+                if (!entry.getValue().isNumber() && !isNonFiniteNumber(entry.getValue())) {
+                    return field + "." + entry.getKey() + " не является числом";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * NaN и бесконечности Jackson выгружает строками "NaN", "Infinity", "-Infinity"
+     * и так же читает их обратно в Double, поэтому при импорте они допустимы
+     */
+    private static boolean isNonFiniteNumber(JsonNode value) {
+        if (!value.isTextual()) {
+            return false;
+        }
+        String text = value.textValue();
+        return "NaN".equals(text) || "Infinity".equals(text) || "-Infinity".equals(text);
+    }
+
+    /**
+     * Сохранение порции импорта одной транзакцией. Если порция не сохранилась,
+     * записи сохраняются по одной, чтобы пропустить только проблемные.
+     */
+    private void saveImportBatch(List<CalculationResult> batch, List<Integer> batchRecords,
+                                 ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = saveCalculations(batch, batch.size());
+        if (ids.size() == batch.size()) {
+            result.addImported(ids.size());
+        } else {
+            for (int i = 0; i < batch.size(); i++) {
+                if (saveCalculation(batch.get(i))) {
+                    result.addImported(1);
+                } else {
+                    result.addSkipped("Запись " + batchRecords.get(i) + ": ошибка сохранения в БД");
+                }
+            }
+        }
+
+        batch.clear();
+        batchRecords.clear();
+    }
+
+    /**
+     * Проверка сигнатуры gzip (1f 8b) без потребления байтов потока
+     */
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == 0x1f && second == 0x8b;
+    }
+
+    /**
+     * Поток, считающий прочитанные байты (для отображения хода импорта)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+        private long markedCount;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() { return count; }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            super.mark(readLimit);
+            markedCount = count;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            count = markedCount;
+        }
+    }
+
+    /**
+     * Добавление к запросу условий фильтра (тип, период, поисковый запрос)
+     */
+    private void appendFilterConditions(StringBuilder sql, List<Object> params, HistoryFilter filter) {
+        if (filter == null) {
+            return;
+        }
+
+        if (filter.getCalculationType() != null && !filter.getCalculationType().isEmpty()) {
+            sql.append(" AND calculation_type = ?");
+            params.add(filter.getCalculationType());
+        }
+
+        if (filter.getDateFrom() != null) {
+            sql.append(" AND calculation_date >= ?");
+            params.add(Timestamp.valueOf(filter.getDateFrom()));
+        }
+
+        if (filter.getDateTo() != null) {
+            sql.append(" AND calculation_date <= ?");
+            params.add(Timestamp.valueOf(filter.getDateTo()));
+        }
+
+        if (filter.getTextSearch() != null && !filter.getTextSearch().isEmpty()) {
+            // Одно условие для таблицы, постраничной загрузки, экспорта и удаления по фильтру:
+            // слова запроса по префиксу в названии и примечаниях (индекс FTS5)
+            String matchExpression = buildMatchExpression(filter.getTextSearch());
+            if (matchExpression != null && isFullTextSearchAvailable()) {
+                sql.append(" AND id IN (SELECT rowid FROM calculations_fts WHERE calculations_fts MATCH ?)");
+                params.add(matchExpression);
+            } else {
+                // Без FTS5 (или без слов в запросе) - подстрока в названии или примечаниях
+                String pattern = "%" + escapeLike(filter.getTextSearch().trim()) + "%";
+                sql.append(" AND (title LIKE ? ESCAPE '\\' OR notes LIKE ? ESCAPE '\\')");
+                params.add(pattern);
+                params.add(pattern);
+            }
+        }
+    }
+
+    /**
+     * Добавление условия "после курсора", сортировки и лимита (+1 строка для проверки наличия следующей страницы).
+     * Сравнение кортежей (calculation_date, id) < (?, ?) использует индекс idx_calculations_user_date.
+     */
+    private void appendPageConditions(StringBuilder sql, List<Object> params, PageCursor after, int limit) {
+        if (after != null) {
+            sql.append(" AND (calculation_date, id) < (?, ?)");
+            params.add(after.getCalculationDateKey());
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY calculation_date DESC, id DESC LIMIT ?");
+        params.add(limit + 1);
+    }
+
+    /**
+     * Преобразование пользовательского запроса в выражение FTS5 MATCH.
+     * Запрос в кавычках - поиск фразы, иначе все слова по префиксу (логическое И).
+     * Каждый терм берется в кавычки, поэтому служебные слова и символы FTS5
+     * из пользовательского ввода не интерпретируются.
+     *
+     * @return выражение MATCH или null, если в запросе нет слов
+     */
+    static String buildMatchExpression(String query) {
+        if (query == null) {
+            return null;
+        }
+        String text = query.trim();
+
+        if (text.length() > 2 && text.startsWith("\"") && text.endsWith("\"")) {
+            String phrase = text.substring(1, text.length() - 1).trim();
+            return phrase.isEmpty() ? null : "\"" + phrase.replace("\"", "\"\"") + "\"";
+        }
+
+        StringBuilder expression = new StringBuilder();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            expression.append('"').append(word).append("\"*");
+        }
+        return expression.length() > 0 ? expression.toString() : null;
+    }
+
+    /**
+     * Проверка наличия полнотекстового индекса (FTS5 может отсутствовать в сборке SQLite)
+     */
+    private boolean isFullTextSearchAvailable() {
+        Boolean available = fullTextSearchAvailable;
+        if (available != null) {
+            return available;
+        }
+
+        String sql = "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'calculations_fts'";
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            available = rs.next();
+        } catch (SQLException e) {
+            available = false;
+        }
+        fullTextSearchAvailable = available;
+        return available;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Заполнение параметров INSERT_SQL значениями расчета
+     */
+    private void bindInsertParameters(PreparedStatement pstmt, CalculationResult calculation) throws Exception {
+        pstmt.setInt(1, calculation.getUserId());
+        pstmt.setString(2, calculation.getCalculationType());
+        pstmt.setString(3, calculation.getTitle());
+        // Карты параметров хранятся в двоичном виде (см. ParameterCodec)
+        pstmt.setBytes(4, parameterCodec.encode(calculation.getInputParameters()));
+        byte[] outputs = parameterCodec.encode(calculation.getOutputResults());
+
+        // Результаты с известным хэшем входных данных хранятся один раз на всех в result_store
+        String resultHash = calculation.getResultHash();
+        if (resultHash != null && resultStore.share(pstmt.getConnection(), resultHash,
+                calculation.getCalculationType(), calculation.getOutputResults(), outputs)) {
+            pstmt.setBytes(5, SHARED_OUTPUT_RESULTS);
+            pstmt.setString(12, resultHash);
+        } else {
+            pstmt.setBytes(5, outputs);
+            pstmt.setNull(12, Types.VARCHAR);
+        }
+        pstmt.setString(6, calculation.getNotes());
+
+        if (calculation.getCalculationDate() != null) {
+            pstmt.setTimestamp(7, Timestamp.valueOf(calculation.getCalculationDate()));
+        } else {
+            pstmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        bindSummaryColumns(pstmt, 8, calculation);
+    }
+
+    /**
+     * Добавление в пакет строк calculation_params для всех конечных значений расчета.
+     * Имена параметров должны быть заранее зарегистрированы в справочнике.
+     */
+    private void addParameterBatch(PreparedStatement paramStmt, int calculationId,
+                                   CalculationResult calculation) throws SQLException {
+        addParameterBatch(paramStmt, calculationId, ParameterDirection.INPUT, calculation.getInputParameters());
+        addParameterBatch(paramStmt, calculationId, ParameterDirection.OUTPUT, calculation.getOutputResults());
+    }
+
+    private void addParameterBatch(PreparedStatement paramStmt, int calculationId,
+                                   ParameterDirection direction, Map<String, Double> values) throws SQLException {
+        if (values == null) {
+            return;
+        }
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            Double value = entry.getValue();
+            // NaN и бесконечность SQLite хранит как NULL - такие значения не индексируем
+            if (value == null || !Double.isFinite(value)) {
+                continue;
+            }
+            paramStmt.setInt(1, calculationId);
+            paramStmt.setInt(2, keyDictionary.getId(entry.getKey()));
+            paramStmt.setInt(3, direction.getCode());
+            paramStmt.setDouble(4, value);
+            paramStmt.addBatch();
+        }
+    }
+
+    /**
+     * Все имена параметров (входных и выходных) из списка расчетов
+     */
+    private static Set<String> parameterNames(List<CalculationResult> calculations) {
+        Set<String> names = new HashSet<>();
+        for (CalculationResult calc : calculations) {
+            if (calc.getInputParameters() != null) {
+                names.addAll(calc.getInputParameters().keySet());
+            }
+            if (calc.getOutputResults() != null) {
+                names.addAll(calc.getOutputResults().keySet());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Заполнение столбцов краткого представления (превью и ключевые результаты),
+     * начиная с параметра firstIndex
+     */
+    private void bindSummaryColumns(PreparedStatement pstmt, int firstIndex,
+                                    CalculationResult calculation) throws SQLException {
+        Map<String, Double> outputs = calculation.getOutputResults();
+        pstmt.setString(firstIndex, CalculationSummary.buildPreview(calculation.getInputParameters()));
+        pstmt.setString(firstIndex + 1, CalculationSummary.buildPreview(outputs));
+        pstmt.setObject(firstIndex + 2, outputs != null ? outputs.get("efficiency") : null);
+        pstmt.setObject(firstIndex + 3, outputs != null ? outputs.get("machNumber") : null);
+    }
+
+    /**
+     * Заполнение столбцов краткого представления для строк, сохраненных до их появления.
+     * JSON каждой такой строки разбирается один раз; обновление идет порциями в транзакциях.
+     *
+     * @return количество обновленных строк
+     */
+    public int backfillSummaryColumns() {
+        String selectSql = "SELECT id, input_parameters, " + OUTPUT_RESULTS_COLUMN +
+                " FROM calculations WHERE input_preview IS NULL";
+        String updateSql = """
+            UPDATE calculations
+            SET input_preview = ?, output_preview = ?, efficiency = ?, mach_number = ?
+            WHERE id = ?
+            """;
+
+        int updated = 0;
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             Statement select = conn.createStatement();
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+
+            // Читаем всё заранее: обновлять таблицу во время обхода курсора по ней нельзя
+            List<CalculationResult> pending = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery(selectSql)) {
+                while (rs.next()) {
+                    CalculationResult calc = new CalculationResult();
+                    calc.setId(rs.getInt("id"));
+                    calc.setInputParameters(readParameters(rs, "input_parameters"));
+                    calc.setOutputResults(readParameters(rs, "output_results"));
+                    pending.add(calc);
+                }
+            }
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            conn.setAutoCommit(false);
+            for (CalculationResult calc : pending) {
+                bindSummaryColumns(update, 1, calc);
+                update.setInt(5, calc.getId());
+                update.addBatch();
+                if (++updated % DEFAULT_BATCH_SIZE == 0) {
+                    update.executeBatch();
+                    conn.commit();
+                }
+            }
+            update.executeBatch();
+            conn.commit();
+
+            System.out.println("Заполнено превью для расчетов: " + updated);
+
+        } catch (Exception e) {
+            System.err.println("Ошибка при заполнении превью расчетов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return updated;
+    }
+
+    /**
+     * Вспомогательный метод для преобразования строки ResultSet в объект CalculationResult
+     */
+    private CalculationResult mapRowToCalculationResult(ResultSet rs) throws Exception {
+        CalculationResult result = new CalculationResult();
+        result.setId(rs.getInt("id"));
+        result.setUserId(rs.getInt("user_id"));
+        result.setCalculationType(rs.getString("calculation_type"));
+        result.setTitle(rs.getString("title"));
+
+        Map<String, Double> inputParams = readParameters(rs, "input_parameters");
+        Map<String, Double> outputResults = readParameters(rs, "output_results");
+
+        result.setInputParameters(inputParams);
+        result.setOutputResults(outputResults);
+        result.setNotes(rs.getString("notes"));
+
+        Timestamp timestamp = rs.getTimestamp("calculation_date");
+        if (timestamp != null) {
+            result.setCalculationDate(timestamp.toLocalDateTime());
+        }
+
+        return result;
+    }
+
+    /**
+     * Преобразование строки ResultSet в краткое представление (без разбора JSON)
+     */
+    private CalculationSummary mapRowToCalculationSummary(ResultSet rs) throws SQLException {
+        CalculationSummary summary = new CalculationSummary();
+        summary.setId(rs.getInt("id"));
+        summary.setCalculationType(rs.getString("calculation_type"));
+        summary.setTitle(rs.getString("title"));
+        summary.setNotes(rs.getString("notes"));
+        summary.setInputPreview(rs.getString("input_preview"));
+        summary.setOutputPreview(rs.getString("output_preview"));
+
+        double efficiency = rs.getDouble("efficiency");
+        summary.setEfficiency(rs.wasNull() ? null : efficiency);
+        double machNumber = rs.getDouble("mach_number");
+        summary.setMachNumber(rs.wasNull() ? null : machNumber);
+
+        Timestamp timestamp = rs.getTimestamp("calculation_date");
+        if (timestamp != null) {
+            summary.setCalculationDate(timestamp.toLocalDateTime());
+        }
+
+        return summary;
+    }
+
+    /**
+     * Чтение карты параметров из столбца: двоичный формат ParameterCodec
+     * или JSON строка (расчеты, еще не переведенные в двоичный формат)
+     */
+    private Map<String, Double> readParameters(ResultSet rs, String column) throws Exception {
+        byte[] data = rs.getBytes(column);
+        if (data == null || data.length == 0) {
+            return new HashMap<>();
+        }
+        if (ParameterCodec.isBinary(data)) {
+            return parameterCodec.decode(data, rs.getStatement().getConnection());
+        }
+        return objectMapper.readValue(data, new TypeReference<Map<String, Double>>() {});
+    }
+
+    /**
+     * Преобразование текущей строки ResultSet в объект
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws Exception;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.steelcalc.dao;
+
+import com.steelcalc.model.CalculationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Асинхронная очередь сохранения расчетов (write-behind).
+ *
+ * submit() ставит расчет в ограниченную очередь и сразу возвращает future.
+ * Фоновый поток забирает накопившиеся расчеты и сохраняет их одной транзакцией
+ * через CalculationDao.saveCalculations (групповая фиксация), поэтому
+ * несколько сохранений подряд стоят одного fsync.
+ *
+ * submit() никогда не ждет: его вызывают обработчики Swing, и поток EDT
+ * не должен блокироваться. Если очередь заполнена, future сразу завершается
+ * ошибкой RejectedExecutionException - панель показывает ее пользователю.
+ * При остановке оставшиеся в очереди расчеты дописываются в БД.
+ */
+public class CalculationWriteQueue {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+    public static final int DEFAULT_MAX_BATCH = 200;
+
+    // Как часто писатель проверяет флаг остановки при пустой очереди, мс
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private static CalculationWriteQueue shared;
+
+    private final CalculationDao calculationDao;
+    private final BlockingQueue<PendingSave> queue;
+    private final int maxBatch;
+    private final Thread writerThread;
+    private final List<BiConsumer<CalculationResult, Throwable>> failureListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean accepting = true;
+
+    public CalculationWriteQueue(CalculationDao calculationDao, int capacity, int maxBatch) {
+        this.calculationDao = calculationDao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.writerThread = new Thread(this::runWriter, "calculation-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Общая очередь приложения. Перед закрытием подключений к БД
+     * она дописывает все накопленные расчеты.
+     */
+    public static synchronized CalculationWriteQueue getShared() {
+        if (shared == null || !shared.accepting) {
+            CalculationWriteQueue queue = new CalculationWriteQueue(
+                    new CachingCalculationDao(), DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+            DatabaseConnection.addBeforeCloseTask(() -> queue.shutdown(10_000));
+            shared = queue;
+        }
+        return shared;
+    }
+
+    /**
+     * Постановка расчета в очередь на сохранение без блокировки (можно вызывать из EDT).
+     * Future завершается сохраненным расчетом (с проставленным ID) или ошибкой;
+     * при заполненной очереди - сразу, ошибкой RejectedExecutionException.
+     */
+    public CompletableFuture<CalculationResult> submit(CalculationResult calculation) {
+        CompletableFuture<CalculationResult> future = new CompletableFuture<>();
+        PendingSave pending = new PendingSave(calculation, future);
+
+        if (!accepting) {
+            fail(pending, new IllegalStateException("Очередь сохранения остановлена"));
+            return future;
+        }
+
+        // Без ожидания: переполнение сразу возвращается вызывающему как ошибка
+        if (!queue.offer(pending)) {
+            fail(pending, new RejectedExecutionException(
+                    "Очередь сохранения переполнена (" + getPendingCount() +
+                            " расчетов ждут записи), повторите сохранение позже"));
+        }
+        return future;
+    }
+
+    /**
+     * Подписка на ошибки сохранения (вызывается из фонового потока)
+     */
+    public void addFailureListener(BiConsumer<CalculationResult, Throwable> listener) {
+        failureListeners.add(listener);
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Остановка очереди: новые расчеты не принимаются,
+     * уже поставленные дописываются в БД (ждем не дольше timeoutMillis).
+     */
+    public void shutdown(long timeoutMillis) {
+        accepting = false;
+        try {
+            writerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Всё, что не успели записать, завершаем с ошибкой, чтобы никто не ждал вечно
+        PendingSave pending;
+        while ((pending = queue.poll()) != null) {
+            fail(pending, new IllegalStateException("Очередь сохранения остановлена до записи расчета"));
+        }
+    }
+
+    private void runWriter() {
+        List<PendingSave> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            PendingSave first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                if (!accepting) {
+                    break;
+                }
+                continue;
+            }
+
+            if (first == null) {
+                if (!accepting) {
+                    break; // Очередь пуста и остановлена
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, maxBatch - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Запись порции одной транзакцией. Если транзакция не прошла,
+     * сохраняем расчеты по одному, чтобы ошибку получил только проблемный.
+     */
+    private void writeBatch(List<PendingSave> batch) {
+        List<CalculationResult> calculations = new ArrayList<>(batch.size());
+        for (PendingSave pending : batch) {
+            calculations.add(pending.calculation);
+        }
+
+        List<Integer> ids = calculationDao.saveCalculations(calculations, calculations.size());
+        if (ids.size() == calculations.size()) {
+            for (PendingSave pending : batch) {
+                pending.future.complete(pending.calculation);
+            }
+            return;
+        }
+
+        for (PendingSave pending : batch) {
+            if (calculationDao.saveCalculation(pending.calculation)) {
+                pending.future.complete(pending.calculation);
+            } else {
+                fail(pending, new IllegalStateException(
+                        "Ошибка при сохранении расчета \"" + pending.calculation.getTitle() + "\" в БД"));
+            }
+        }
+    }
+
+    private void fail(PendingSave pending, Throwable error) {
+        pending.future.completeExceptionally(error);
+        for (BiConsumer<CalculationResult, Throwable> listener : failureListeners) {
+            try {
+                listener.accept(pending.calculation, error);
+            } catch (RuntimeException e) {
+                System.err.println("Ошибка в обработчике сбоя сохранения: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class PendingSave {
+        private final CalculationResult calculation;
+        private final CompletableFuture<CalculationResult> future;
+
+        private PendingSave(CalculationResult calculation, CompletableFuture<CalculationResult> future) {
+            this.calculation = calculation;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.steelcalc.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Потокобезопасный пул подключений к SQLite.
+ *
+ * Физические подключения создаются лениво (не более maxSize штук), при создании
+ * настраиваются списком PRAGMA-команд и переиспользуются между запросами.
+ * Выданное подключение - это обертка: вызов close() не закрывает файл БД,
+ * а возвращает подключение в пул, поэтому DAO могут по-прежнему
+ * использовать try-with-resources.
+ */
+public class ConnectionPool {
+
+    // Подключение, простоявшее без дела дольше этого времени, проверяется запросом перед выдачей
+    private static final long VALIDATION_IDLE_MILLIS = 30_000;
+
+    private final String name;
+    private final String url;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final List<String> pragmas;
+
+    private final BlockingQueue<PooledEntry> idle;
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger borrowed = new AtomicInteger();
+    private volatile long lastReleaseMillis = System.currentTimeMillis();
+    private volatile boolean closed;
+
+    /**
+     * @param name                имя пула (для сообщений в логе)
+     * @param url                 JDBC URL базы данных
+     * @param maxSize             максимальное число физических подключений
+     * @param borrowTimeoutMillis сколько ждать свободное подключение, мс
+     * @param pragmas             команды, выполняемые на каждом новом подключении
+     */
+    public ConnectionPool(String name, String url, int maxSize, long borrowTimeoutMillis,
+                          List<String> pragmas) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Размер пула должен быть не меньше 1");
+        }
+        this.name = name;
+        this.url = url;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.pragmas = List.copyOf(pragmas);
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Получение подключения из пула с таймаутом по умолчанию
+     */
+    public Connection borrow() throws SQLException {
+        return borrow(borrowTimeoutMillis);
+    }
+
+    /**
+     * Получение подключения из пула.
+     * Если свободных подключений нет и лимит не исчерпан - создается новое,
+     * иначе ожидаем возврата подключения не дольше timeoutMillis.
+     */
+    public Connection borrow(long timeoutMillis) throws SQLException {
+        if (closed) {
+            throw new SQLException("Пул подключений '" + name + "' закрыт");
+        }
+
+        PooledEntry entry = idle.poll();
+        if (entry == null) {
+            entry = tryCreate();
+        }
+        if (entry == null) {
+            try {
+                entry = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Ожидание подключения прервано", e);
+            }
+            if (entry == null) {
+                throw new SQLTimeoutException("Нет свободных подключений в пуле '" + name +
+                        "' за " + timeoutMillis + " мс");
+            }
+        }
+
+        if (!isUsable(entry)) {
+            discard(entry);
+            entry = tryCreate();
+            if (entry == null) {
+                // Место освободилось только что, но его успел занять другой поток
+                return borrow(timeoutMillis);
+            }
+        }
+
+        borrowed.incrementAndGet();
+        return wrap(entry);
+    }
+
+    /**
+     * Проверка работоспособности пула: берем подключение и выполняем простой запрос
+     */
+    public boolean healthCheck() {
+        try (Connection conn = borrow();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT 1");
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Проверка пула '" + name + "' не пройдена: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public String getName() { return name; }
+    public int getMaxSize() { return maxSize; }
+    public int getCreatedCount() { return created.get(); }
+    public int getIdleCount() { return idle.size(); }
+    public int getBorrowedCount() { return borrowed.get(); }
+    public long getLastReleaseMillis() { return lastReleaseMillis; }
+    public boolean isClosed() { return closed; }
+
+    /**
+     * Закрытие пула и всех свободных подключений.
+     * Выданные подключения будут закрыты при возврате.
+     */
+    public void close() {
+        closed = true;
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            discard(entry);
+        }
+    }
+
+    private PooledEntry tryCreate() throws SQLException {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+
+        try {
+            Connection conn = DriverManager.getConnection(url);
+            try (Statement stmt = conn.createStatement()) {
+                for (String pragma : pragmas) {
+                    stmt.execute(pragma);
+                }
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+            return new PooledEntry(conn);
+        } catch (SQLException e) {
+            created.decrementAndGet();
+            System.err.println("Ошибка подключения к базе данных: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_IDLE_MILLIS) {
+                return true;
+            }
+            try (Statement stmt = entry.connection.createStatement()) {
+                stmt.execute("SELECT 1");
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledEntry entry) {
+        borrowed.decrementAndGet();
+        lastReleaseMillis = System.currentTimeMillis();
+        try {
+            // Незавершенную транзакцию откатываем, чтобы следующий пользователь получил чистое подключение
+            if (!entry.connection.isClosed() && !entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+            return;
+        }
+
+        entry.lastUsed = System.currentTimeMillis();
+        if (closed || !idle.offer(entry)) {
+            discard(entry);
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        created.decrementAndGet();
+        try {
+            entry.connection.close();
+        } catch (SQLException e) {
+            System.err.println("Ошибка при закрытии подключения: " + e.getMessage());
+        }
+    }
+
+    private Connection wrap(PooledEntry entry) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new BorrowedConnectionHandler(entry));
+    }
+
+    /**
+     * Физическое подключение и время его последнего возврата в пул
+     */
+    private static final class PooledEntry {
+        private final Connection connection;
+        private volatile long lastUsed;
+
+        private PooledEntry(Connection connection) {
+            this.connection = connection;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Обработчик вызовов выданного подключения: close() возвращает подключение в пул,
+     * остальные методы передаются физическому подключению
+     */
+    private final class BorrowedConnectionHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned;
+
+        private BorrowedConnectionHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + name + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Подключение уже возвращено в пул '" + name + "'");
+            }
+
+            try {
+                return method.invoke(entry.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
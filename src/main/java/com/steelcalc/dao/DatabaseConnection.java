@@ -1,39 +1,208 @@
-package com.steelcalc.dao;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-
-public class DatabaseConnection {
-    private static final String DB_URL = "jdbc:sqlite:steel_calc.db"; // Файл БД создастся в папке проекта
-
-    // Создаём единственный (синглтон) экземпляр подключения
-    private static Connection connection;
-
-    // Метод для получения подключения. Создаёт его при первом вызове.
-    public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try {
-                // Регистрируем драйвер и создаём подключение к файлу БД
-                connection = DriverManager.getConnection(DB_URL);
-                System.out.println("Подключение к базе данных установлено.");
-            } catch (SQLException e) {
-                System.err.println("Ошибка подключения к базе данных: " + e.getMessage());
-                throw e; // Пробрасываем исключение дальше
-            }
-        }
-        return connection;
-    }
-
-    // Метод для закрытия подключения (вызовем при завершении программы)
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Подключение к базе данных закрыто.");
-            } catch (SQLException e) {
-                System.err.println("Ошибка при закрытии подключения: " + e.getMessage());
-            }
-        }
-    }
+package com.steelcalc.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class DatabaseConnection {
+    private static final String DB_URL = "jdbc:sqlite:steel_calc.db"; // Файл БД создастся в папке проекта
+
+    /**
+     * Режим хранения файла БД.
+     * WAL - читатели работают параллельно с единственным писателем,
+     * ROLLBACK_JOURNAL - классический журнал отката, один общий пул.
+     */
+    public enum StorageMode { WAL, ROLLBACK_JOURNAL }
+
+    // Параметры можно переопределить: -Dsteelcalc.db.poolSize=8 -Dsteelcalc.db.storageMode=ROLLBACK_JOURNAL
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long BORROW_TIMEOUT_MILLIS = 10_000;
+
+    // Контрольная точка WAL выполняется, если писатель простаивает дольше этого времени
+    private static final long CHECKPOINT_IDLE_MILLIS = 5_000;
+    private static final long CHECKPOINT_PERIOD_SECONDS = 30;
+
+    // Общие настройки каждого подключения
+    private static final List<String> BASE_PRAGMAS = List.of(
+            "PRAGMA foreign_keys = ON",
+            "PRAGMA busy_timeout = 5000"
+    );
+
+    // Настройки производительности для режима WAL
+    private static final List<String> WAL_TUNING_PRAGMAS = List.of(
+            "PRAGMA cache_size = -16384",     // 16 МБ страничного кэша
+            "PRAGMA mmap_size = 268435456"    // до 256 МБ файла читаем через mmap
+    );
+
+    private static volatile StorageMode storageMode;
+    private static volatile ConnectionPool writerPool;
+    private static volatile ConnectionPool readerPool;
+    private static ScheduledExecutorService checkpointScheduler;
+    private static boolean shutdownHookRegistered;
+
+    // Действия, которые нужно выполнить до закрытия подключений (например, дописать очередь сохранения)
+    private static final List<Runnable> BEFORE_CLOSE_TASKS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Инициализация пулов при первом обращении.
+     * В режиме WAL сначала создается писатель - он переводит файл БД в WAL,
+     * затем пул подключений только для чтения.
+     */
+    private static void ensureInitialized() {
+        if (writerPool != null && !writerPool.isClosed()) {
+            return;
+        }
+        synchronized (DatabaseConnection.class) {
+            if (writerPool != null && !writerPool.isClosed()) {
+                return;
+            }
+
+            StorageMode mode = StorageMode.valueOf(
+                    System.getProperty("steelcalc.db.storageMode", StorageMode.WAL.name()));
+            int size = Integer.getInteger("steelcalc.db.poolSize", DEFAULT_POOL_SIZE);
+
+            if (mode == StorageMode.WAL) {
+                List<String> writerPragmas = new ArrayList<>(BASE_PRAGMAS);
+                writerPragmas.add("PRAGMA journal_mode = WAL");
+                writerPragmas.add("PRAGMA synchronous = NORMAL");
+                writerPragmas.addAll(WAL_TUNING_PRAGMAS);
+
+                List<String> readerPragmas = new ArrayList<>(BASE_PRAGMAS);
+                readerPragmas.addAll(WAL_TUNING_PRAGMAS);
+                readerPragmas.add("PRAGMA query_only = ON");
+
+                ConnectionPool writer = new ConnectionPool("writer", DB_URL, 1,
+                        BORROW_TIMEOUT_MILLIS, writerPragmas);
+                writer.healthCheck(); // Создаем писателя сразу, чтобы включить WAL до открытия читателей
+
+                writerPool = writer;
+                readerPool = new ConnectionPool("reader", DB_URL, size,
+                        BORROW_TIMEOUT_MILLIS, readerPragmas);
+                startCheckpointScheduler();
+            } else {
+                ConnectionPool shared = new ConnectionPool("main", DB_URL, size,
+                        BORROW_TIMEOUT_MILLIS, BASE_PRAGMAS);
+                writerPool = shared;
+                readerPool = shared;
+            }
+            storageMode = mode;
+
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime().addShutdownHook(
+                        new Thread(DatabaseConnection::closeConnection, "db-shutdown"));
+                shutdownHookRegistered = true;
+            }
+
+            System.out.println("Подключение к базе данных настроено (режим: " + mode +
+                    ", читателей: " + size + ").");
+        }
+    }
+
+    // Подключение для изменения данных. В режиме WAL писатель один,
+    // поэтому все записи выполняются последовательно.
+    public static Connection getWriteConnection() throws SQLException {
+        ensureInitialized();
+        return writerPool.borrow();
+    }
+
+    // Подключение только для чтения из пула читателей
+    public static Connection getReadConnection() throws SQLException {
+        ensureInitialized();
+        return readerPool.borrow();
+    }
+
+    // Метод для получения подключения общего назначения (DDL, смешанные операции).
+    // Вызов close() у полученного подключения возвращает его в пул.
+    public static Connection getConnection() throws SQLException {
+        return getWriteConnection();
+    }
+
+    public static StorageMode getStorageMode() {
+        ensureInitialized();
+        return storageMode;
+    }
+
+    // Проверка доступности базы данных
+    public static boolean isHealthy() {
+        ensureInitialized();
+        return writerPool.healthCheck() && readerPool.healthCheck();
+    }
+
+    /**
+     * Контрольная точка WAL: переносит страницы из журнала в основной файл.
+     * PASSIVE не ждет читателей, TRUNCATE дополнительно обнуляет файл журнала.
+     */
+    public static void checkpoint(boolean truncate) {
+        if (storageMode != StorageMode.WAL) {
+            return;
+        }
+        try (Connection conn = writerPool.borrow(truncate ? BORROW_TIMEOUT_MILLIS : 0);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(truncate ? "PRAGMA wal_checkpoint(TRUNCATE)" : "PRAGMA wal_checkpoint(PASSIVE)");
+        } catch (SQLException e) {
+            // Писатель занят - попробуем в следующий раз
+            if (truncate) {
+                System.err.println("Ошибка контрольной точки WAL: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void startCheckpointScheduler() {
+        checkpointScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointScheduler.scheduleWithFixedDelay(() -> {
+            ConnectionPool writer = writerPool;
+            if (writer != null && !writer.isClosed() && writer.getBorrowedCount() == 0 &&
+                    System.currentTimeMillis() - writer.getLastReleaseMillis() > CHECKPOINT_IDLE_MILLIS) {
+                checkpoint(false);
+            }
+        }, CHECKPOINT_PERIOD_SECONDS, CHECKPOINT_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Регистрация действия, выполняемого перед закрытием подключений
+    public static void addBeforeCloseTask(Runnable task) {
+        BEFORE_CLOSE_TASKS.add(task);
+    }
+
+    // Метод для закрытия всех подключений (вызовем при завершении программы)
+    public static void closeConnection() {
+        // Выполняем вне блокировки: задачам самим могут понадобиться подключения
+        for (Runnable task : BEFORE_CLOSE_TASKS) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Ошибка при подготовке к закрытию БД: " + e.getMessage());
+            }
+        }
+        BEFORE_CLOSE_TASKS.clear();
+
+        synchronized (DatabaseConnection.class) {
+            if (writerPool == null) {
+                return;
+            }
+            if (checkpointScheduler != null) {
+                checkpointScheduler.shutdownNow();
+                checkpointScheduler = null;
+            }
+
+            checkpoint(true);
+
+            if (readerPool != writerPool) {
+                readerPool.close();
+            }
+            writerPool.close();
+            readerPool = null;
+            writerPool = null;
+            System.out.println("Подключения к базе данных закрыты.");
+        }
+    }
 }
\ No newline at end of file
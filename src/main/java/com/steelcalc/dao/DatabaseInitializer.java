@@ -1,228 +1,505 @@
-package com.steelcalc.dao;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
-
-public class DatabaseInitializer {
-
-    public static void initializeDatabase() {
-        // SQL-запросы для создания всех таблиц
-        String[] createTablesSQL = {
-                // Таблица пользователей (уже была, оставляем для полноты)
-                """
-            CREATE TABLE IF NOT EXISTS users (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                username TEXT UNIQUE NOT NULL,
-                password_hash TEXT NOT NULL
-            );
-            """,
-
-                // Таблица материалов (справочник)
-                """
-            CREATE TABLE IF NOT EXISTS materials (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                name TEXT UNIQUE NOT NULL,
-                category TEXT NOT NULL,
-                density REAL NOT NULL,
-                melting_point REAL NOT NULL,
-                thermal_conductivity REAL,
-                specific_heat REAL,
-                description TEXT
-            );
-            """,
-
-                // Основная таблица для хранения истории расчетов
-                """
-            CREATE TABLE IF NOT EXISTS calculations (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                user_id INTEGER NOT NULL,
-                calculation_type TEXT NOT NULL CHECK (calculation_type IN ('OXYGEN_LANCE', 'LAVAL_NOZZLE')),
-                title TEXT NOT NULL,
-                input_parameters TEXT NOT NULL, -- JSON строка
-                output_results TEXT NOT NULL,    -- JSON строка
-                notes TEXT,
-                calculation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
-            );
-            """,
-
-                // Индексы для ускорения поиска
-                """
-            CREATE INDEX IF NOT EXISTS idx_calculations_user_id ON calculations(user_id);
-            """,
-                """
-            CREATE INDEX IF NOT EXISTS idx_calculations_type ON calculations(calculation_type);
-            """,
-                """
-            CREATE INDEX IF NOT EXISTS idx_calculations_date ON calculations(calculation_date);
-            """
-        };
-
-        // Выполняем все запросы в транзакции
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // Включаем поддержку внешних ключей для SQLite
-            stmt.execute("PRAGMA foreign_keys = ON;");
-
-            for (String sql : createTablesSQL) {
-                stmt.execute(sql);
-            }
-
-            System.out.println("Все таблицы базы данных проверены/созданы успешно.");
-
-            // Заполняем справочник материалов начальными данными
-            populateInitialMaterials();
-
-        } catch (SQLException e) {
-            System.err.println("Ошибка при инициализации базы данных: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Заполнение справочника материалов начальными данными
-     */
-    private static void populateInitialMaterials() {
-        String[][] materialsData = {
-                // name, category, density, melting_point, thermal_conductivity, specific_heat, description
-                {"Сталь 20", "Конструкционная сталь", "7850", "1520", "50", "480", "Низкоуглеродистая конструкционная сталь"},
-                {"Сталь 45", "Конструкционная сталь", "7820", "1490", "48", "470", "Среднеуглеродистая конструкционная сталь"},
-                {"Нержавеющая сталь 304", "Нержавеющая сталь", "8000", "1400", "16", "500", "Аустенитная нержавеющая сталь"},
-                {"Чугун СЧ20", "Чугун", "7200", "1150", "50", "460", "Серый чугун"},
-                {"Алюминий А5", "Цветной металл", "2700", "660", "237", "900", "Чистый алюминий"},
-                {"Медь М1", "Цветной металл", "8940", "1085", "401", "385", "Чистая медь"},
-                {"Латунь Л63", "Сплав", "8500", "900", "120", "380", "Медно-цинковый сплав"},
-                {"Бронза БрА5", "Сплав", "8800", "1050", "75", "370", "Оловянная бронза"},
-                {"Титан ВТ1-0", "Титан", "4500", "1668", "22", "520", "Технически чистый титан"},
-                {"Магний Мг90", "Магний", "1740", "650", "156", "1020", "Чистый магний"}
-        };
-
-        String insertSQL = """
-            INSERT OR IGNORE INTO materials (name, category, density, melting_point, 
-                                            thermal_conductivity, specific_heat, description)
-            VALUES (?, ?, ?, ?, ?, ?, ?);
-            """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             var pstmt = conn.prepareStatement(insertSQL)) {
-
-            for (String[] material : materialsData) {
-                pstmt.setString(1, material[0]);
-                pstmt.setString(2, material[1]);
-                pstmt.setDouble(3, Double.parseDouble(material[2]));
-                pstmt.setDouble(4, Double.parseDouble(material[3]));
-                pstmt.setDouble(5, Double.parseDouble(material[4]));
-                pstmt.setDouble(6, Double.parseDouble(material[5]));
-                pstmt.setString(7, material[6]);
-                pstmt.addBatch();
-            }
-
-            int[] results = pstmt.executeBatch();
-            int insertedCount = 0;
-            for (int result : results) {
-                if (result >= 0) insertedCount++;
-            }
-
-            System.out.println("Добавлено материалов в справочник: " + insertedCount);
-
-        } catch (SQLException e) {
-            System.err.println("Ошибка при заполнении справочника материалов: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Генерация тестовых данных расчетов (для демонстрации)
-     */
-    public static void generateTestCalculations(int count) {
-        String insertSQL = """
-            INSERT INTO calculations (user_id, calculation_type, title, 
-                                     input_parameters, output_results, notes)
-            VALUES (?, ?, ?, ?, ?, ?);
-            """;
-
-        String[] calculationTypes = {"OXYGEN_LANCE", "LAVAL_NOZZLE"};
-        String[] titles = {
-                "Тестовый расчет фурмы", "Оптимизация параметров",
-                "Сравнение материалов", "Контрольный расчет",
-                "Исследование эффективности"
-        };
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             var pstmt = conn.prepareStatement(insertSQL)) {
-
-            for (int i = 0; i < count; i++) {
-                String type = calculationTypes[i % 2];
-                String inputJson = generateTestInputJson(type);
-                String outputJson = generateTestOutputJson(type);
-
-                pstmt.setInt(1, 1); // Предполагаем, что есть пользователь с ID=1
-                pstmt.setString(2, type);
-                pstmt.setString(3, titles[i % titles.length] + " #" + (i + 1));
-                pstmt.setString(4, inputJson);
-                pstmt.setString(5, outputJson);
-                pstmt.setString(6, "Тестовый расчет для демонстрации");
-                pstmt.addBatch();
-            }
-
-            int[] results = pstmt.executeBatch();
-            System.out.println("Сгенерировано тестовых расчетов: " + results.length);
-
-        } catch (SQLException e) {
-            System.err.println("Ошибка при генерации тестовых данных: " + e.getMessage());
-        }
-    }
-
-    private static String generateTestInputJson(String type) {
-        if ("OXYGEN_LANCE".equals(type)) {
-            return """
-                {
-                  "oxygenFlowRate": 1500.0,
-                  "pressure": 2.5,
-                  "nozzleDiameter": 15.0,
-                  "temperature": 25.0,
-                  "oxygenPurity": 99.5,
-                  "materialName": "Сталь 45"
-                }
-                """;
-        } else {
-            return """
-                {
-                  "gasType": "Кислород",
-                  "inletPressure": 10.0,
-                  "outletPressure": 1.0,
-                  "temperature": 300.0,
-                  "massFlowRate": 1.0,
-                  "expansionRatio": 5.0,
-                  "isSupersonic": true
-                }
-                """;
-        }
-    }
-
-    private static String generateTestOutputJson(String type) {
-        if ("OXYGEN_LANCE".equals(type)) {
-            return """
-                {
-                  "exitVelocity": 450.5,
-                  "jetForce": 12560.8,
-                  "efficiency": 87.3,
-                  "machNumber": 1.8,
-                  "reynoldsNumber": 125000.0
-                }
-                """;
-        } else {
-            return """
-                {
-                  "throatArea": 25.4,
-                  "exitArea": 127.0,
-                  "exitVelocity": 680.2,
-                  "machNumber": 2.3,
-                  "thrust": 1500.5,
-                  "efficiency": 92.1
-                }
-                """;
-        }
-    }
+package com.steelcalc.dao;
+
+import com.steelcalc.model.CalculationResult;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DatabaseInitializer {
+
+    public static void initializeDatabase() {
+        // SQL-запросы для создания всех таблиц
+        String[] createTablesSQL = {
+                // Таблица пользователей (уже была, оставляем для полноты)
+                """
+            CREATE TABLE IF NOT EXISTS users (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                username TEXT UNIQUE NOT NULL,
+                password_hash TEXT NOT NULL
+            );
+            """,
+
+                // Таблица материалов (справочник)
+                """
+            CREATE TABLE IF NOT EXISTS materials (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT UNIQUE NOT NULL,
+                category TEXT NOT NULL,
+                density REAL NOT NULL,
+                melting_point REAL NOT NULL,
+                thermal_conductivity REAL,
+                specific_heat REAL,
+                description TEXT
+            );
+            """,
+
+                // Основная таблица для хранения истории расчетов
+                """
+            CREATE TABLE IF NOT EXISTS calculations (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id INTEGER NOT NULL,
+                calculation_type TEXT NOT NULL CHECK (calculation_type IN ('OXYGEN_LANCE', 'LAVAL_NOZZLE')),
+                title TEXT NOT NULL,
+                input_parameters BLOB NOT NULL, -- параметры (двоичный формат ParameterCodec)
+                output_results BLOB NOT NULL,    -- результаты (двоичный формат ParameterCodec)
+                notes TEXT,
+                calculation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                input_preview TEXT,              -- краткое описание параметров для списков
+                output_preview TEXT,             -- краткое описание результатов для списков
+                efficiency REAL,                 -- КПД (если рассчитывался)
+                mach_number REAL,                -- число Маха (если рассчитывалось)
+                FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+            );
+            """,
+
+                // Индексы для ускорения поиска
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculations_user_id ON calculations(user_id);
+            """,
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculations_type ON calculations(calculation_type);
+            """,
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculations_date ON calculations(calculation_date);
+            """,
+
+                // Составные индексы для постраничной выборки истории по (дата, id)
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculations_user_date
+                ON calculations(user_id, calculation_date DESC, id DESC);
+            """,
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculations_user_type_date
+                ON calculations(user_id, calculation_type, calculation_date DESC, id DESC);
+            """,
+
+                // Справочник имен числовых параметров
+                """
+            CREATE TABLE IF NOT EXISTS param_keys (
+                id INTEGER PRIMARY KEY,
+                name TEXT UNIQUE NOT NULL
+            );
+            """,
+
+                // Числовые параметры расчетов (direction: 0 - входной, 1 - результат)
+                """
+            CREATE TABLE IF NOT EXISTS calculation_params (
+                calculation_id INTEGER NOT NULL,
+                key_id INTEGER NOT NULL,
+                direction INTEGER NOT NULL,
+                value REAL NOT NULL,
+                PRIMARY KEY (calculation_id, direction, key_id),
+                FOREIGN KEY (calculation_id) REFERENCES calculations(id) ON DELETE CASCADE,
+                FOREIGN KEY (key_id) REFERENCES param_keys(id)
+            ) WITHOUT ROWID;
+            """,
+                // Отбор и агрегаты по значению параметра
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculation_params_key_value
+                ON calculation_params(key_id, direction, value);
+            """,
+
+                // Справочник рабочих газов для расчета сопла Лаваля
+                """
+            CREATE TABLE IF NOT EXISTS gases (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT UNIQUE NOT NULL,
+                gamma REAL NOT NULL CHECK (gamma > 1),      -- показатель адиабаты
+                molar_mass REAL NOT NULL CHECK (molar_mass > 0) -- молярная масса, кг/моль
+            );
+            """,
+
+                // Общие результаты расчетов по каноническому хэшу входных данных (см. ResultHasher)
+                """
+            CREATE TABLE IF NOT EXISTS result_store (
+                hash TEXT PRIMARY KEY,           -- SHA-256: тип расчета, версия модели, входные данные
+                calculation_type TEXT NOT NULL,
+                output_results BLOB NOT NULL,    -- результаты (двоичный формат ParameterCodec)
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            ) WITHOUT ROWID;
+            """
+        };
+
+        // Выполняем все запросы на одном подключении из пула
+        // (внешние ключи включаются при настройке каждого подключения пула)
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+
+            for (String sql : createTablesSQL) {
+                stmt.execute(sql);
+            }
+
+            // Столбцы краткого представления для БД, созданных до их появления
+            addColumnIfMissing(conn, "calculations", "input_preview", "TEXT");
+            addColumnIfMissing(conn, "calculations", "output_preview", "TEXT");
+            addColumnIfMissing(conn, "calculations", "efficiency", "REAL");
+            addColumnIfMissing(conn, "calculations", "mach_number", "REAL");
+
+            // Ссылка на общие результаты в result_store (NULL - результаты хранятся в самом расчете)
+            addColumnIfMissing(conn, "calculations", "result_hash", "TEXT");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_calculations_result_hash " +
+                    "ON calculations(result_hash) WHERE result_hash IS NOT NULL");
+
+            // Полнотекстовый индекс по названиям и примечаниям
+            createFullTextIndex(conn);
+
+            // Сводная статистика расчетов по пользователям и типам
+            createStatisticsTable(conn);
+
+            // Журнал изменений для инкрементального обновления истории
+            createChangeLog(conn);
+
+            System.out.println("Все таблицы базы данных проверены/созданы успешно.");
+
+            // Заполняем справочники материалов и газов начальными данными на том же подключении
+            populateInitialMaterials(conn);
+            GasDao.insertBuiltInGases(conn);
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при инициализации базы данных: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        // Заполняем превью и числовые параметры для старых расчетов
+        // (после возврата подключения - писатель в пуле один)
+        CalculationDao calculationDao = new CalculationDao();
+        calculationDao.backfillSummaryColumns();
+        calculationDao.backfillParameters();
+        calculationDao.migrateParametersToBinary();
+        calculationDao.pruneChangeLog(CalculationDao.CHANGE_LOG_RETAINED);
+        new ResultStoreDao().pruneUnreferenced();
+
+        // Газы, добавленные в БД, становятся доступны расчетам
+        new GasDao().loadRegistry();
+    }
+
+    /**
+     * Создание полнотекстового индекса FTS5 по названию и примечаниям расчетов.
+     * Индекс хранит только токены (content='calculations'), сами тексты берутся
+     * из основной таблицы; синхронизацию выполняют триггеры.
+     * Если SQLite собран без FTS5, поиск работает по подстроке без индекса.
+     */
+    private static void createFullTextIndex(Connection conn) {
+        String[] ftsSQL = {
+                """
+            CREATE VIRTUAL TABLE IF NOT EXISTS calculations_fts USING fts5(
+                title, notes,
+                content = 'calculations', content_rowid = 'id',
+                tokenize = 'unicode61 remove_diacritics 2'
+            );
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculations_fts_insert AFTER INSERT ON calculations BEGIN
+                INSERT INTO calculations_fts(rowid, title, notes) VALUES (new.id, new.title, new.notes);
+            END;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculations_fts_delete AFTER DELETE ON calculations BEGIN
+                INSERT INTO calculations_fts(calculations_fts, rowid, title, notes)
+                VALUES ('delete', old.id, old.title, old.notes);
+            END;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculations_fts_update AFTER UPDATE OF title, notes ON calculations BEGIN
+                INSERT INTO calculations_fts(calculations_fts, rowid, title, notes)
+                VALUES ('delete', old.id, old.title, old.notes);
+                INSERT INTO calculations_fts(rowid, title, notes) VALUES (new.id, new.title, new.notes);
+            END;
+            """
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            boolean existed = tableExists(conn, "calculations_fts");
+            for (String sql : ftsSQL) {
+                stmt.execute(sql);
+            }
+
+            // Индекс создан для уже заполненной таблицы - строим его по существующим строкам
+            if (!existed) {
+                stmt.execute("INSERT INTO calculations_fts(calculations_fts) VALUES ('rebuild')");
+                System.out.println("Полнотекстовый индекс расчетов построен.");
+            }
+        } catch (SQLException e) {
+            System.err.println("Полнотекстовый поиск недоступен: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Создание таблицы сводной статистики и триггеров, поддерживающих ее в актуальном состоянии.
+     * На каждого пользователя и тип расчета - одна строка: количество, первая и последняя
+     * дата, сумма и количество значений КПД (для среднего).
+     */
+    private static void createStatisticsTable(Connection conn) throws SQLException {
+        String[] statsSQL = {
+                """
+            CREATE TABLE IF NOT EXISTS calculation_stats (
+                user_id INTEGER NOT NULL,
+                calculation_type TEXT NOT NULL,
+                calc_count INTEGER NOT NULL DEFAULT 0,
+                first_date TIMESTAMP,
+                last_date TIMESTAMP,
+                efficiency_sum REAL NOT NULL DEFAULT 0,
+                efficiency_count INTEGER NOT NULL DEFAULT 0,
+                PRIMARY KEY (user_id, calculation_type)
+            ) WITHOUT ROWID;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_stats_insert AFTER INSERT ON calculations BEGIN
+                INSERT INTO calculation_stats (user_id, calculation_type, calc_count, first_date, last_date,
+                                               efficiency_sum, efficiency_count)
+                VALUES (new.user_id, new.calculation_type, 1, new.calculation_date, new.calculation_date,
+                        COALESCE(new.efficiency, 0), new.efficiency IS NOT NULL)
+                ON CONFLICT (user_id, calculation_type) DO UPDATE SET
+                    calc_count = calc_count + 1,
+                    first_date = MIN(first_date, excluded.first_date),
+                    last_date = MAX(last_date, excluded.last_date),
+                    efficiency_sum = efficiency_sum + excluded.efficiency_sum,
+                    efficiency_count = efficiency_count + excluded.efficiency_count;
+            END;
+            """,
+                // Границы периода пересчитываются, только если удалили крайний расчет
+                // (MIN/MAX по индексу idx_calculations_user_type_date)
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_stats_delete AFTER DELETE ON calculations BEGIN
+                UPDATE calculation_stats SET
+                    calc_count = calc_count - 1,
+                    efficiency_sum = efficiency_sum - COALESCE(old.efficiency, 0),
+                    efficiency_count = efficiency_count - (old.efficiency IS NOT NULL),
+                    first_date = CASE WHEN first_date = old.calculation_date THEN
+                        (SELECT MIN(calculation_date) FROM calculations
+                         WHERE user_id = old.user_id AND calculation_type = old.calculation_type)
+                        ELSE first_date END,
+                    last_date = CASE WHEN last_date = old.calculation_date THEN
+                        (SELECT MAX(calculation_date) FROM calculations
+                         WHERE user_id = old.user_id AND calculation_type = old.calculation_type)
+                        ELSE last_date END
+                WHERE user_id = old.user_id AND calculation_type = old.calculation_type;
+                DELETE FROM calculation_stats
+                WHERE user_id = old.user_id AND calculation_type = old.calculation_type AND calc_count <= 0;
+            END;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_stats_update AFTER UPDATE OF efficiency ON calculations BEGIN
+                UPDATE calculation_stats SET
+                    efficiency_sum = efficiency_sum - COALESCE(old.efficiency, 0) + COALESCE(new.efficiency, 0),
+                    efficiency_count = efficiency_count - (old.efficiency IS NOT NULL) + (new.efficiency IS NOT NULL)
+                WHERE user_id = new.user_id AND calculation_type = new.calculation_type;
+            END;
+            """
+        };
+
+        boolean existed = tableExists(conn, "calculation_stats");
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statsSQL) {
+                stmt.execute(sql);
+            }
+        }
+
+        // Таблица появилась в уже заполненной БД - собираем статистику по существующим расчетам
+        if (!existed) {
+            CalculationDao.rebuildStatistics(conn);
+        }
+    }
+
+    /**
+     * Создание журнала изменений расчетов. Триггеры записывают в него каждую
+     * вставку, изменение и удаление с монотонно растущим номером seq.
+     * Изменение учитывается, только если поменялось видимое содержимое расчета
+     * (служебные миграции формата хранения в журнал не попадают).
+     */
+    private static void createChangeLog(Connection conn) throws SQLException {
+        String[] changeLogSQL = {
+                """
+            CREATE TABLE IF NOT EXISTS calculation_changes (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id INTEGER NOT NULL,
+                calculation_id INTEGER NOT NULL,
+                change_type TEXT NOT NULL CHECK (change_type IN ('INSERT', 'UPDATE', 'DELETE'))
+            );
+            """,
+                """
+            CREATE INDEX IF NOT EXISTS idx_calculation_changes_user_seq
+                ON calculation_changes(user_id, seq);
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_changes_insert AFTER INSERT ON calculations BEGIN
+                INSERT INTO calculation_changes (user_id, calculation_id, change_type)
+                VALUES (new.user_id, new.id, 'INSERT');
+            END;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_changes_update AFTER UPDATE ON calculations
+            WHEN old.title IS NOT new.title OR old.notes IS NOT new.notes
+              OR old.input_preview IS NOT new.input_preview OR old.output_preview IS NOT new.output_preview
+              OR old.efficiency IS NOT new.efficiency OR old.mach_number IS NOT new.mach_number
+            BEGIN
+                INSERT INTO calculation_changes (user_id, calculation_id, change_type)
+                VALUES (new.user_id, new.id, 'UPDATE');
+            END;
+            """,
+                """
+            CREATE TRIGGER IF NOT EXISTS calculation_changes_delete AFTER DELETE ON calculations BEGIN
+                INSERT INTO calculation_changes (user_id, calculation_id, change_type)
+                VALUES (old.user_id, old.id, 'DELETE');
+            END;
+            """
+        };
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : changeLogSQL) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (var pstmt = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            pstmt.setString(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Добавление столбца в существующую таблицу, если его еще нет
+     */
+    private static void addColumnIfMissing(Connection conn, String table, String column,
+                                           String definition) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("name"))) {
+                        return;
+                    }
+                }
+            }
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            System.out.println("Добавлен столбец " + table + "." + column);
+        }
+    }
+
+    /**
+     * Заполнение справочника материалов начальными данными
+     */
+    private static void populateInitialMaterials(Connection conn) {
+        String[][] materialsData = {
+                // name, category, density, melting_point, thermal_conductivity, specific_heat, description
+                {"Сталь 20", "Конструкционная сталь", "7850", "1520", "50", "480", "Низкоуглеродистая конструкционная сталь"},
+                {"Сталь 45", "Конструкционная сталь", "7820", "1490", "48", "470", "Среднеуглеродистая конструкционная сталь"},
+                {"Нержавеющая сталь 304", "Нержавеющая сталь", "8000", "1400", "16", "500", "Аустенитная нержавеющая сталь"},
+                {"Чугун СЧ20", "Чугун", "7200", "1150", "50", "460", "Серый чугун"},
+                {"Алюминий А5", "Цветной металл", "2700", "660", "237", "900", "Чистый алюминий"},
+                {"Медь М1", "Цветной металл", "8940", "1085", "401", "385", "Чистая медь"},
+                {"Латунь Л63", "Сплав", "8500", "900", "120", "380", "Медно-цинковый сплав"},
+                {"Бронза БрА5", "Сплав", "8800", "1050", "75", "370", "Оловянная бронза"},
+                {"Титан ВТ1-0", "Титан", "4500", "1668", "22", "520", "Технически чистый титан"},
+                {"Магний Мг90", "Магний", "1740", "650", "156", "1020", "Чистый магний"}
+        };
+
+        String insertSQL = """
+            INSERT OR IGNORE INTO materials (name, category, density, melting_point, 
+                                            thermal_conductivity, specific_heat, description)
+            VALUES (?, ?, ?, ?, ?, ?, ?);
+            """;
+
+        try (var pstmt = conn.prepareStatement(insertSQL)) {
+
+            for (String[] material : materialsData) {
+                pstmt.setString(1, material[0]);
+                pstmt.setString(2, material[1]);
+                pstmt.setDouble(3, Double.parseDouble(material[2]));
+                pstmt.setDouble(4, Double.parseDouble(material[3]));
+                pstmt.setDouble(5, Double.parseDouble(material[4]));
+                pstmt.setDouble(6, Double.parseDouble(material[5]));
+                pstmt.setString(7, material[6]);
+                pstmt.addBatch();
+            }
+
+            int[] results = pstmt.executeBatch();
+            int insertedCount = 0;
+            for (int result : results) {
+                if (result >= 0) insertedCount++;
+            }
+
+            System.out.println("Добавлено материалов в справочник: " + insertedCount);
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при заполнении справочника материалов: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Генерация тестовых данных расчетов (для демонстрации).
+     * Записи сохраняются пакетно через CalculationDao.saveCalculations.
+     */
+    public static void generateTestCalculations(int count) {
+        String[] calculationTypes = {"OXYGEN_LANCE", "LAVAL_NOZZLE"};
+        String[] titles = {
+                "Тестовый расчет фурмы", "Оптимизация параметров",
+                "Сравнение материалов", "Контрольный расчет",
+                "Исследование эффективности"
+        };
+
+        List<CalculationResult> calculations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = calculationTypes[i % 2];
+
+            CalculationResult calculation = new CalculationResult(type, titles[i % titles.length] + " #" + (i + 1));
+            calculation.setUserId(1); // Предполагаем, что есть пользователь с ID=1
+            calculation.setInputParameters(generateTestInputs(type));
+            calculation.setOutputResults(generateTestOutputs(type));
+            calculation.setNotes("Тестовый расчет для демонстрации");
+            calculations.add(calculation);
+        }
+
+        List<Integer> ids = new CalculationDao().saveCalculations(calculations);
+        System.out.println("Сгенерировано тестовых расчетов: " + ids.size());
+    }
+
+    private static Map<String, Double> generateTestInputs(String type) {
+        Map<String, Double> inputs = new HashMap<>();
+        if ("OXYGEN_LANCE".equals(type)) {
+            inputs.put("oxygenFlowRate", 1500.0);
+            inputs.put("pressure", 2.5);
+            inputs.put("nozzleDiameter", 15.0);
+            inputs.put("temperature", 25.0);
+            inputs.put("oxygenPurity", 99.5);
+        } else {
+            inputs.put("inletPressure", 10.0);
+            inputs.put("outletPressure", 1.0);
+            inputs.put("temperature", 300.0);
+            inputs.put("massFlowRate", 1.0);
+            inputs.put("expansionRatio", 5.0);
+            inputs.put("isSupersonic", 1.0);
+        }
+        return inputs;
+    }
+
+    private static Map<String, Double> generateTestOutputs(String type) {
+        Map<String, Double> outputs = new HashMap<>();
+        if ("OXYGEN_LANCE".equals(type)) {
+            outputs.put("exitVelocity", 450.5);
+            outputs.put("jetForce", 12560.8);
+            outputs.put("efficiency", 87.3);
+            outputs.put("machNumber", 1.8);
+            outputs.put("reynoldsNumber", 125000.0);
+        } else {
+            outputs.put("throatArea", 25.4);
+            outputs.put("exitArea", 127.0);
+            outputs.put("exitVelocity", 680.2);
+            outputs.put("machNumber", 2.3);
+            outputs.put("thrust", 1500.5);
+            outputs.put("efficiency", 92.1);
+        }
+        return outputs;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.steelcalc.dao;
+
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.GasRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object для справочника рабочих газов (таблица gases).
+ * Газы из БД дополняют встроенный справочник GasRegistry.
+ */
+public class GasDao {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO gases (name, gamma, molar_mass) VALUES (?, ?, ?)
+            ON CONFLICT(name) DO UPDATE SET gamma = excluded.gamma, molar_mass = excluded.molar_mass
+            """;
+
+    /**
+     * Получение всех газов из БД
+     */
+    public List<GasProperties> getAllGases() {
+        List<GasProperties> gases = new ArrayList<>();
+        String sql = "SELECT name, gamma, molar_mass FROM gases ORDER BY id";
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                try {
+                    gases.add(new GasProperties(rs.getString("name"),
+                            rs.getDouble("gamma"), rs.getDouble("molar_mass")));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Пропущен газ с некорректными свойствами: " + e.getMessage());
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при получении справочника газов: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return gases;
+    }
+
+    /**
+     * Добавление нового газа или изменение свойств существующего.
+     * После записи газ сразу доступен в GasRegistry.
+     */
+    public boolean saveGas(GasProperties gas) {
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+
+            pstmt.setString(1, gas.getName());
+            pstmt.setDouble(2, gas.getGamma());
+            pstmt.setDouble(3, gas.getMolarMass());
+            pstmt.executeUpdate();
+
+            GasRegistry.register(gas);
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при сохранении газа: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Загрузка газов из БД в GasRegistry (встроенные газы остаются доступны)
+     */
+    public void loadRegistry() {
+        List<GasProperties> gases = getAllGases();
+        GasRegistry.load(gases);
+        System.out.println("Загружено газов в справочник: " + gases.size());
+    }
+
+    /**
+     * Заполнение таблицы встроенными газами (существующие записи не меняются)
+     */
+    static void insertBuiltInGases(Connection conn) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO gases (name, gamma, molar_mass) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (GasProperties gas : GasRegistry.getBuiltInGases()) {
+                pstmt.setString(1, gas.getName());
+                pstmt.setDouble(2, gas.getGamma());
+                pstmt.setDouble(3, gas.getMolarMass());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+}
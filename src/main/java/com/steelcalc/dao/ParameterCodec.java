@@ -0,0 +1,124 @@
+package com.steelcalc.dao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Двоичное представление карты параметров расчета (столбцы input_parameters
+ * и output_results хранятся как BLOB).
+ *
+ * Формат версии 1:
+ *   байт MAGIC, байт VERSION, varint число записей,
+ *   затем для каждой записи: varint ID имени из param_keys и 8 байт double.
+ *
+ * Первый байт MAGIC не может начинать корректный UTF-8 текст, поэтому
+ * двоичное значение всегда отличается от старых строк JSON.
+ */
+public class ParameterCodec {
+
+    static final byte MAGIC = (byte) 0x9C;
+    static final byte VERSION = 1;
+
+    private final ParameterKeyDictionary keyDictionary;
+
+    public ParameterCodec(ParameterKeyDictionary keyDictionary) {
+        this.keyDictionary = keyDictionary;
+    }
+
+    /**
+     * Признак того, что значение столбца записано этим кодеком, а не JSON
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    /**
+     * Кодирование карты параметров. Имена должны быть заранее зарегистрированы
+     * в справочнике (ParameterKeyDictionary.ensureKeys). Записи со значением null пропускаются.
+     */
+    public byte[] encode(Map<String, Double> params) {
+        int size = params != null ? params.size() : 0;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(3 + size * 10);
+        out.write(MAGIC);
+        out.write(VERSION);
+
+        int count = 0;
+        if (params != null) {
+            for (Double value : params.values()) {
+                if (value != null) count++;
+            }
+        }
+        writeVarint(out, count);
+
+        byte[] doubleBytes = new byte[Double.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(doubleBytes);
+        if (params != null) {
+            for (Map.Entry<String, Double> entry : params.entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                Integer keyId = keyDictionary.getId(entry.getKey());
+                if (keyId == null) {
+                    throw new IllegalStateException("Параметр '" + entry.getKey() + "' не зарегистрирован в справочнике");
+                }
+                writeVarint(out, keyId);
+                buffer.putDouble(0, entry.getValue());
+                out.write(doubleBytes, 0, doubleBytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Декодирование значения, записанного encode().
+     * Неизвестные ID имен дочитываются из справочника на переданном подключении.
+     */
+    public Map<String, Double> decode(byte[] data, Connection conn) throws IOException, SQLException {
+        if (!isBinary(data)) {
+            throw new IOException("Значение не является двоичной картой параметров");
+        }
+        if (data[1] != VERSION) {
+            throw new IOException("Неподдерживаемая версия формата параметров: " + data[1]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 2, data.length - 2);
+        int count = readVarint(buffer);
+        Map<String, Double> params = new LinkedHashMap<>(Math.max(4, count * 2));
+        for (int i = 0; i < count; i++) {
+            int keyId = readVarint(buffer);
+            if (buffer.remaining() < Double.BYTES) {
+                throw new IOException("Двоичная карта параметров обрезана");
+            }
+            params.put(keyDictionary.getName(conn, keyId), buffer.getDouble());
+        }
+        return params;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Двоичная карта параметров обрезана");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Некорректное число в двоичной карте параметров");
+    }
+}
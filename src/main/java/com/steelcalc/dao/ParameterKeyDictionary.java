@@ -0,0 +1,119 @@
+package com.steelcalc.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Справочник имен числовых параметров (таблица param_keys).
+ *
+ * Имена вроде "oxygenFlowRate" хранятся один раз, в таблице значений
+ * calculation_params используется только их ID. Справочник маленький и
+ * только пополняется, поэтому целиком кэшируется в памяти.
+ */
+public class ParameterKeyDictionary {
+
+    private static final ParameterKeyDictionary SHARED = new ParameterKeyDictionary();
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    public static ParameterKeyDictionary getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Регистрация имен в справочнике на переданном подключении.
+     * Вызывается вне транзакции: ID попадает в кэш только после того,
+     * как строка справочника зафиксирована в БД.
+     */
+    public void ensureKeys(Connection conn, Collection<String> names) throws SQLException {
+        String insertSql = "INSERT OR IGNORE INTO param_keys (name) VALUES (?)";
+        String selectSql = "SELECT id FROM param_keys WHERE name = ?";
+
+        for (String name : names) {
+            if (idsByName.containsKey(name)) {
+                continue;
+            }
+            try (PreparedStatement insert = conn.prepareStatement(insertSql);
+                 PreparedStatement select = conn.prepareStatement(selectSql)) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+
+                select.setString(1, name);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        remember(name, rs.getInt(1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ID зарегистрированного имени (после ensureKeys) или null
+     */
+    public Integer getId(String name) {
+        return idsByName.get(name);
+    }
+
+    /**
+     * Поиск ID имени для запросов: сначала в кэше, затем в БД.
+     *
+     * @return ID или null, если такого параметра еще никогда не сохраняли
+     */
+    public Integer findId(String name) {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM param_keys WHERE name = ?")) {
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    id = rs.getInt(1);
+                    remember(name, id);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Ошибка при чтении справочника параметров: " + e.getMessage());
+        }
+        return id;
+    }
+
+    /**
+     * Имя параметра по ID. При промахе кэша справочник целиком перечитывается
+     * на переданном подключении (это подключение, которым уже читаются расчеты,
+     * поэтому второе подключение из пула не занимается).
+     */
+    public String getName(Connection conn, int id) throws SQLException {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT id, name FROM param_keys");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                remember(rs.getString("name"), rs.getInt("id"));
+            }
+        }
+
+        name = namesById.get(id);
+        if (name == null) {
+            throw new SQLException("В справочнике параметров нет ID " + id);
+        }
+        return name;
+    }
+
+    private void remember(String name, int id) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+}
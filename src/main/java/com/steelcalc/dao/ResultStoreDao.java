@@ -0,0 +1,127 @@
+package com.steelcalc.dao;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data Access Object для общего хранилища результатов (таблица result_store).
+ *
+ * Ключ записи - канонический хэш входных данных (см. ResultHasher): тип расчета,
+ * версия расчетной модели и входные значения. Расчеты с одинаковыми входными
+ * данными ссылаются на одну запись (calculations.result_hash), а не хранят
+ * копию результатов. Хранилище используется только при сохранении и чтении
+ * расчетов (в расчетах оно не участвует). Записи появляются при сохранении
+ * расчетов; запись, на которую больше никто не ссылается, удаляет pruneUnreferenced().
+ */
+public class ResultStoreDao {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO result_store (hash, calculation_type, output_results) VALUES (?, ?, ?)
+            ON CONFLICT(hash) DO NOTHING
+            """;
+    private static final String SELECT_SQL = "SELECT output_results FROM result_store WHERE hash = ?";
+
+    private final ParameterCodec parameterCodec = new ParameterCodec(ParameterKeyDictionary.getShared());
+
+    /**
+     * Размещение результатов расчета в хранилище на подключении сохраняющей транзакции.
+     * Если запись с таким хэшем уже есть, ссылаться на нее можно, только если
+     * ее результаты совпадают с результатами расчета (например, их не правили вручную).
+     *
+     * @param encodedOutputs результаты в формате ParameterCodec
+     * @return true, если расчет может ссылаться на запись хранилища вместо своей копии
+     */
+    boolean share(Connection conn, String hash, String calculationType,
+                  Map<String, Double> outputs, byte[] encodedOutputs) throws SQLException, IOException {
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+            insert.setString(1, hash);
+            insert.setString(2, calculationType);
+            insert.setBytes(3, encodedOutputs);
+            if (insert.executeUpdate() > 0) {
+                return true;
+            }
+        }
+
+        try (PreparedStatement select = conn.prepareStatement(SELECT_SQL)) {
+            select.setString(1, hash);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() && withoutNulls(outputs).equals(parameterCodec.decode(rs.getBytes(1), conn));
+            }
+        }
+    }
+
+    /**
+     * Удаление записей, на которые не ссылается ни один расчет
+     * (расчеты удалены или сохранены прежней версией модели и затем изменены)
+     *
+     * @return количество удаленных записей
+     */
+    public int pruneUnreferenced() {
+        String sql = """
+            DELETE FROM result_store
+            WHERE NOT EXISTS (SELECT 1 FROM calculations c WHERE c.result_hash = result_store.hash)
+            """;
+
+        try (Connection conn = DatabaseConnection.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+
+            int deleted = stmt.executeUpdate(sql);
+            if (deleted > 0) {
+                System.out.println("Удалено неиспользуемых записей хранилища результатов: " + deleted);
+            }
+            return deleted;
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при очистке хранилища результатов: " + e.getMessage());
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Статистика хранилища: entries (записей), references (расчетов, ссылающихся
+     * на общие результаты), savedBytes (объем копий результатов, которые не пришлось хранить)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        String sql = """
+            SELECT (SELECT COUNT(*) FROM result_store) AS entries,
+                   COUNT(c.id) AS refs,
+                   COALESCE(SUM(length(s.output_results)), 0) AS ref_bytes,
+                   (SELECT COALESCE(SUM(length(output_results)), 0) FROM result_store) AS store_bytes
+            FROM calculations c JOIN result_store s ON s.hash = c.result_hash
+            """;
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                stats.put("entries", rs.getInt("entries"));
+                stats.put("references", rs.getInt("refs"));
+                stats.put("savedBytes", Math.max(0, rs.getLong("ref_bytes") - rs.getLong("store_bytes")));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Ошибка при получении статистики хранилища результатов: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return stats;
+    }
+
+    private static Map<String, Double> withoutNulls(Map<String, Double> values) {
+        Map<String, Double> result = new HashMap<>();
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+}
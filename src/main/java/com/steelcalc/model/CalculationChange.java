@@ -0,0 +1,23 @@
+package com.steelcalc.model;
+
+/**
+ * Запись журнала изменений расчетов (таблица calculation_changes)
+ */
+public class CalculationChange {
+
+    public enum ChangeType { INSERT, UPDATE, DELETE }
+
+    private final long seq;              // Монотонный номер изменения
+    private final int calculationId;
+    private final ChangeType changeType;
+
+    public CalculationChange(long seq, int calculationId, ChangeType changeType) {
+        this.seq = seq;
+        this.calculationId = calculationId;
+        this.changeType = changeType;
+    }
+
+    public long getSeq() { return seq; }
+    public int getCalculationId() { return calculationId; }
+    public ChangeType getChangeType() { return changeType; }
+}
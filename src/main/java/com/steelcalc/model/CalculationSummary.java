@@ -0,0 +1,71 @@
+package com.steelcalc.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Краткое представление расчета для списков истории.
+ * Содержит только то, что показывается в таблице: превью параметров
+ * и ключевые результаты хранятся в отдельных столбцах и не требуют разбора JSON.
+ * Полный расчет загружается отдельно через CalculationDao.getCalculationById.
+ */
+public class CalculationSummary {
+    // Сколько параметров показывать в превью
+    private static final int PREVIEW_SIZE = 3;
+
+    private int id;
+    private String calculationType;
+    private String title;
+    private LocalDateTime calculationDate;
+    private String notes;
+    private String inputPreview;      // "ключ: значение, ..." для входных параметров
+    private String outputPreview;     // То же для результатов
+    private Double efficiency;        // η, % (может отсутствовать)
+    private Double machNumber;        // Число Маха (может отсутствовать)
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getCalculationType() { return calculationType; }
+    public void setCalculationType(String calculationType) { this.calculationType = calculationType; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDateTime getCalculationDate() { return calculationDate; }
+    public void setCalculationDate(LocalDateTime calculationDate) { this.calculationDate = calculationDate; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getInputPreview() { return inputPreview; }
+    public void setInputPreview(String inputPreview) { this.inputPreview = inputPreview; }
+
+    public String getOutputPreview() { return outputPreview; }
+    public void setOutputPreview(String outputPreview) { this.outputPreview = outputPreview; }
+
+    public Double getEfficiency() { return efficiency; }
+    public void setEfficiency(Double efficiency) { this.efficiency = efficiency; }
+
+    public Double getMachNumber() { return machNumber; }
+    public void setMachNumber(Double machNumber) { this.machNumber = machNumber; }
+
+    /**
+     * Строка превью: первые несколько параметров в виде "ключ: значение"
+     */
+    public static String buildPreview(Map<String, Double> params) {
+        if (params == null || params.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for (Map.Entry<String, Double> entry : params.entrySet()) {
+            if (count >= PREVIEW_SIZE) {
+                sb.append("...");
+                break;
+            }
+            if (count > 0) sb.append(", ");
+            sb.append(entry.getKey()).append(": ").append(String.format("%.2f", entry.getValue()));
+            count++;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.steelcalc.model;
+
+/**
+ * Свойства рабочего газа для расчета сопла Лаваля.
+ *
+ * Кроме исходных величин (показатель адиабаты и молярная масса) объект хранит
+ * все производные коэффициенты формул сопла - они вычисляются один раз
+ * в конструкторе, и расчет не вызывает для них Math.pow.
+ */
+public final class GasProperties {
+    // Универсальная газовая постоянная, Дж/(моль·K)
+    public static final double UNIVERSAL_GAS_CONSTANT = 8.314462618;
+
+    private final String name;
+    private final double gamma;                    // γ - показатель адиабаты
+    private final double molarMass;                // M - молярная масса, кг/моль
+
+    // Производные коэффициенты
+    private final double specificGasConstant;      // R/M, Дж/(кг·K)
+    private final double gammaExponent;            // (γ-1)/γ
+    private final double criticalTemperatureRatio; // T*/T0 = 2/(γ+1)
+    private final double criticalPressureRatio;    // P*/P0 = (2/(γ+1))^(γ/(γ-1))
+    private final double velocityFactor;           // Ve² = velocityFactor * T0 * [1 - (Pe/P0)^((γ-1)/γ)]
+    private final double soundFactor;              // a² = soundFactor * T
+    private final double criticalSoundFactor;      // a* = criticalSoundFactor * √T0
+    private final double massFlowFactor;           // √(γ/R) * (2/(γ+1))^((γ+1)/(2(γ-1)))
+
+    // Таблицы изоэнтропического течения (общие для газов с одинаковым γ), берутся при первом обращении
+    private volatile IsentropicTable isentropicTable;
+
+    public GasProperties(String name, double gamma, double molarMass) {
+        if (!(gamma > 1)) {
+            throw new IllegalArgumentException("Показатель адиабаты газа " + name + " должен быть больше 1");
+        }
+        if (!(molarMass > 0)) {
+            throw new IllegalArgumentException("Молярная масса газа " + name + " должна быть положительной");
+        }
+        this.name = name;
+        this.gamma = gamma;
+        this.molarMass = molarMass;
+
+        this.specificGasConstant = UNIVERSAL_GAS_CONSTANT / molarMass;
+        this.gammaExponent = (gamma - 1) / gamma;
+        this.criticalTemperatureRatio = 2 / (gamma + 1);
+        this.criticalPressureRatio = Math.pow(criticalTemperatureRatio, gamma / (gamma - 1));
+        this.velocityFactor = 2 * (gamma / (gamma - 1)) * specificGasConstant;
+        this.soundFactor = gamma * specificGasConstant;
+        this.criticalSoundFactor = Math.sqrt(soundFactor * criticalTemperatureRatio);
+        this.massFlowFactor = Math.sqrt(gamma / specificGasConstant) *
+                Math.pow(criticalTemperatureRatio, (gamma + 1) / (2 * (gamma - 1)));
+    }
+
+    public String getName() { return name; }
+    public double getGamma() { return gamma; }
+    public double getMolarMass() { return molarMass; }
+
+    public double getSpecificGasConstant() { return specificGasConstant; }
+    public double getGammaExponent() { return gammaExponent; }
+    public double getCriticalTemperatureRatio() { return criticalTemperatureRatio; }
+    public double getCriticalPressureRatio() { return criticalPressureRatio; }
+    public double getVelocityFactor() { return velocityFactor; }
+    public double getSoundFactor() { return soundFactor; }
+    public double getCriticalSoundFactor() { return criticalSoundFactor; }
+    public double getMassFlowFactor() { return massFlowFactor; }
+
+    public IsentropicTable getIsentropicTable() {
+        IsentropicTable table = isentropicTable;
+        if (table == null) {
+            table = IsentropicTable.forGamma(gamma);
+            isentropicTable = table;
+        }
+        return table;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (γ = %.3f, M = %.4f кг/моль)", name, gamma, molarMass);
+    }
+}
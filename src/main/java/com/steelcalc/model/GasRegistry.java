@@ -0,0 +1,94 @@
+package com.steelcalc.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Справочник рабочих газов.
+ *
+ * Содержит встроенные газы и газы, загруженные из таблицы gases (см. GasDao).
+ * Поиск по имени выполняется один раз при подготовке входных данных
+ * (LavalNozzleInput.from), дальше расчет работает с объектом GasProperties.
+ * Справочник заменяется целиком, поэтому читатели не блокируются.
+ */
+public final class GasRegistry {
+
+    // Встроенные газы (значения из прежнего CalculationService)
+    private static final List<GasProperties> BUILT_IN_GASES = List.of(
+            new GasProperties("Кислород", 1.4, 0.032),
+            new GasProperties("Воздух", 1.4, 0.029),
+            new GasProperties("Азот", 1.4, 0.028),
+            new GasProperties("Водяной пар", 1.33, 0.018),
+            new GasProperties("Гелий", 1.66, 0.004)
+    );
+
+    // Свойства для газа, которого нет в справочнике
+    private static final double DEFAULT_GAMMA = 1.4;
+    private static final double DEFAULT_MOLAR_MASS = 0.029;
+
+    private static volatile Map<String, GasProperties> gasesByName = index(BUILT_IN_GASES);
+
+    private GasRegistry() {
+    }
+
+    /**
+     * Свойства газа по имени (без учета регистра).
+     * Для неизвестного газа возвращаются свойства по умолчанию (как у воздуха).
+     */
+    public static GasProperties find(String name) {
+        if (name == null) {
+            return gasesByName.get("воздух");
+        }
+        GasProperties gas = gasesByName.get(name.toLowerCase(Locale.ROOT));
+        return gas != null ? gas : new GasProperties(name, DEFAULT_GAMMA, DEFAULT_MOLAR_MASS);
+    }
+
+    /**
+     * Все газы справочника: сначала встроенные, затем добавленные
+     */
+    public static List<GasProperties> getAll() {
+        return Collections.unmodifiableList(new ArrayList<>(gasesByName.values()));
+    }
+
+    /**
+     * Имена всех газов (для выпадающих списков)
+     */
+    public static String[] getNames() {
+        return gasesByName.values().stream().map(GasProperties::getName).toArray(String[]::new);
+    }
+
+    public static List<GasProperties> getBuiltInGases() {
+        return BUILT_IN_GASES;
+    }
+
+    /**
+     * Замена справочника: встроенные газы плюс переданные (одноименные переопределяют встроенные)
+     */
+    public static synchronized void load(Collection<GasProperties> gases) {
+        List<GasProperties> all = new ArrayList<>(BUILT_IN_GASES);
+        all.addAll(gases);
+        gasesByName = index(all);
+    }
+
+    /**
+     * Добавление или замена одного газа
+     */
+    public static synchronized void register(GasProperties gas) {
+        Map<String, GasProperties> copy = new LinkedHashMap<>(gasesByName);
+        copy.put(gas.getName().toLowerCase(Locale.ROOT), gas);
+        gasesByName = Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<String, GasProperties> index(Collection<GasProperties> gases) {
+        Map<String, GasProperties> map = new LinkedHashMap<>();
+        for (GasProperties gas : gases) {
+            map.put(gas.getName().toLowerCase(Locale.ROOT), gas);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,48 @@
+package com.steelcalc.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Условия отбора расчетов в истории: тип, период и поисковый запрос.
+ * Запрос ищется в названии и примечаниях: каждое слово по префиксу,
+ * запрос в кавычках - как фраза. Пустые (null) условия не применяются.
+ */
+public class HistoryFilter {
+    private String calculationType;   // "OXYGEN_LANCE", "LAVAL_NOZZLE" или null - любой
+    private LocalDateTime dateFrom;   // Начало периода (включительно)
+    private LocalDateTime dateTo;     // Конец периода (включительно)
+    private String textSearch;        // Поиск по названию и примечаниям
+
+    public HistoryFilter() {
+    }
+
+    public HistoryFilter(String calculationType, LocalDateTime[] dateRange, String textSearch) {
+        this.calculationType = calculationType;
+        if (dateRange != null && dateRange.length == 2) {
+            this.dateFrom = dateRange[0];
+            this.dateTo = dateRange[1];
+        }
+        this.textSearch = textSearch;
+    }
+
+    public String getCalculationType() { return calculationType; }
+    public void setCalculationType(String calculationType) { this.calculationType = calculationType; }
+
+    public LocalDateTime getDateFrom() { return dateFrom; }
+    public void setDateFrom(LocalDateTime dateFrom) { this.dateFrom = dateFrom; }
+
+    public LocalDateTime getDateTo() { return dateTo; }
+    public void setDateTo(LocalDateTime dateTo) { this.dateTo = dateTo; }
+
+    public String getTextSearch() { return textSearch; }
+    public void setTextSearch(String textSearch) { this.textSearch = textSearch; }
+
+    /**
+     * true, если ни одно условие не задано
+     */
+    public boolean isEmpty() {
+        return (calculationType == null || calculationType.isEmpty())
+                && dateFrom == null && dateTo == null
+                && (textSearch == null || textSearch.isEmpty());
+    }
+}
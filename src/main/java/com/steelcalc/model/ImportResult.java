@@ -0,0 +1,48 @@
+package com.steelcalc.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Итог импорта расчетов: сколько записей сохранено, сколько пропущено и почему
+ */
+public class ImportResult {
+    // Больше сообщений не храним - при огромном файле с ошибками список не должен расти без предела
+    public static final int MAX_ERRORS = 100;
+
+    private int importedCount;
+    private int skippedCount;
+    private boolean cancelled;
+    private final List<String> errors = new ArrayList<>();
+
+    public int getImportedCount() { return importedCount; }
+    public void addImported(int count) { this.importedCount += count; }
+
+    public int getSkippedCount() { return skippedCount; }
+
+    public boolean isCancelled() { return cancelled; }
+    public void setCancelled(boolean cancelled) { this.cancelled = cancelled; }
+
+    /**
+     * Сообщения об ошибках (не более MAX_ERRORS первых)
+     */
+    public List<String> getErrors() { return Collections.unmodifiableList(errors); }
+
+    /**
+     * Учет пропущенной записи с описанием причины
+     */
+    public void addSkipped(String error) {
+        skippedCount++;
+        addError(error);
+    }
+
+    /**
+     * Ошибка, не относящаяся к отдельной записи (например, испорченный конец файла)
+     */
+    public void addError(String error) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+}
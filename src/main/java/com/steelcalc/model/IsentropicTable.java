@@ -0,0 +1,237 @@
+package com.steelcalc.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таблицы изоэнтропического течения для одного показателя адиабаты γ.
+ *
+ * Прямые таблицы: A/A*, p/p0 и T/T0 в зависимости от числа Маха
+ * на равномерной сетке от 0 до MAX_MACH с шагом MACH_STEP.
+ *
+ * Обратные таблицы: число Маха в зависимости от s = √(A/A* - 1) отдельно для
+ * дозвуковой и сверхзвуковой ветви. В переменной s обе ветви гладкие и в окрестности
+ * M = 1, поэтому линейная интерполяция дает хорошее начальное приближение,
+ * а один шаг метода Ньютона доводит его до машинной точности.
+ *
+ * Таблицы неизменяемы после построения и общие для всех потоков;
+ * на каждое значение γ строятся один раз (см. forGamma).
+ */
+public final class IsentropicTable {
+
+    public static final double MAX_MACH = 10.0;
+    private static final double MACH_STEP = 0.001;
+    private static final int MACH_POINTS = (int) Math.round(MAX_MACH / MACH_STEP) + 1;
+    private static final int SONIC_INDEX = (int) Math.round(1.0 / MACH_STEP);
+
+    // Ниже этого числа Маха A/A* растет как 1/M и линейная интерполяция неточна - считаем по формуле
+    private static final double MIN_AREA_TABLE_MACH = 0.2;
+    // Дозвуковая обратная таблица покрывает M от 0.01 до 1, дальше - итерации Ньютона
+    private static final int MIN_SUBSONIC_INDEX = 10;
+    private static final int INVERSE_POINTS = 8_193;
+    // Сверхзвуковая обратная таблица не дальше s = 40 (A/A* ≈ 1600): при малых γ отношение площадей
+    // растет так быстро, что таблица до MAX_MACH получилась бы слишком редкой
+    private static final double MAX_SUPERSONIC_S = 40;
+    private static final int MAX_NEWTON_ITERATIONS = 50;
+
+    private static final ConcurrentHashMap<Double, IsentropicTable> TABLES = new ConcurrentHashMap<>();
+
+    private final double gamma;
+    private final double halfGammaMinusOne;   // (γ-1)/2
+    private final double pressureExponent;    // γ/(γ-1)
+    private final double areaExponent;        // (γ+1)/(2(γ-1))
+    private final double areaScale;           // 2/(γ+1)
+
+    private final double[] areaRatio;         // A/A* по сетке чисел Маха
+    private final double[] pressureRatio;     // p/p0
+    private final double[] temperatureRatio;  // T/T0
+
+    private final double[] subsonicMach;      // M(s) на дозвуковой ветви
+    private final double[] supersonicMach;    // M(s) на сверхзвуковой ветви
+    private final double subsonicStep;        // шаг по s
+    private final double supersonicStep;
+
+    /**
+     * Таблица для заданного γ (строится при первом обращении и кэшируется)
+     */
+    public static IsentropicTable forGamma(double gamma) {
+        return TABLES.computeIfAbsent(gamma, IsentropicTable::new);
+    }
+
+    private IsentropicTable(double gamma) {
+        if (!(gamma > 1)) {
+            throw new IllegalArgumentException("Показатель адиабаты должен быть больше 1");
+        }
+        this.gamma = gamma;
+        this.halfGammaMinusOne = (gamma - 1) / 2;
+        this.pressureExponent = gamma / (gamma - 1);
+        this.areaExponent = (gamma + 1) / (2 * (gamma - 1));
+        this.areaScale = 2 / (gamma + 1);
+
+        areaRatio = new double[MACH_POINTS];
+        pressureRatio = new double[MACH_POINTS];
+        temperatureRatio = new double[MACH_POINTS];
+        double[] sigma = new double[MACH_POINTS]; // √(A/A* - 1) для построения обратных таблиц
+
+        for (int i = 0; i < MACH_POINTS; i++) {
+            double mach = i * MACH_STEP;
+            temperatureRatio[i] = exactTemperatureRatio(mach);
+            pressureRatio[i] = Math.pow(temperatureRatio[i], pressureExponent);
+            areaRatio[i] = i == 0 ? Double.POSITIVE_INFINITY : exactAreaRatio(mach);
+            sigma[i] = Math.sqrt(Math.max(0, areaRatio[i] - 1));
+        }
+        sigma[SONIC_INDEX] = 0;
+
+        // Сверхзвуковая ветвь: s растет вместе с M начиная с M = 1
+        supersonicMach = new double[INVERSE_POINTS];
+        supersonicStep = Math.min(sigma[MACH_POINTS - 1], MAX_SUPERSONIC_S) / (INVERSE_POINTS - 1);
+        int p = SONIC_INDEX;
+        for (int j = 0; j < INVERSE_POINTS; j++) {
+            double s = j * supersonicStep;
+            while (p + 2 < MACH_POINTS && sigma[p + 1] < s) {
+                p++;
+            }
+            double t = (s - sigma[p]) / (sigma[p + 1] - sigma[p]);
+            double mach = (p + Math.min(1, Math.max(0, t))) * MACH_STEP;
+            supersonicMach[j] = newton(mach, s, true, 3);
+        }
+        supersonicMach[0] = 1;
+
+        // Дозвуковая ветвь: s растет при уменьшении M от 1 до 0.01
+        subsonicMach = new double[INVERSE_POINTS];
+        subsonicStep = sigma[MIN_SUBSONIC_INDEX] / (INVERSE_POINTS - 1);
+        p = SONIC_INDEX;
+        for (int j = 0; j < INVERSE_POINTS; j++) {
+            double s = j * subsonicStep;
+            while (p - 1 > MIN_SUBSONIC_INDEX && sigma[p - 1] < s) {
+                p--;
+            }
+            double t = (s - sigma[p]) / (sigma[p - 1] - sigma[p]);
+            double mach = (p - Math.min(1, Math.max(0, t))) * MACH_STEP;
+            subsonicMach[j] = newton(mach, s, false, 3);
+        }
+        subsonicMach[0] = 1;
+    }
+
+    public double getGamma() { return gamma; }
+
+    /**
+     * Точные формулы (без таблиц)
+     */
+    public double exactTemperatureRatio(double mach) {
+        return 1 / (1 + halfGammaMinusOne * mach * mach);
+    }
+
+    public double exactPressureRatio(double mach) {
+        return Math.pow(exactTemperatureRatio(mach), pressureExponent);
+    }
+
+    public double exactAreaRatio(double mach) {
+        return Math.pow(areaScale * (1 + halfGammaMinusOne * mach * mach), areaExponent) / mach;
+    }
+
+    /**
+     * T/T0 при заданном числе Маха (интерполяция по таблице)
+     */
+    public double temperatureRatio(double mach) {
+        if (!(mach >= 0) || mach >= MAX_MACH) {
+            return exactTemperatureRatio(mach);
+        }
+        return interpolate(temperatureRatio, mach);
+    }
+
+    /**
+     * p/p0 при заданном числе Маха (интерполяция по таблице)
+     */
+    public double pressureRatio(double mach) {
+        if (!(mach >= 0) || mach >= MAX_MACH) {
+            return exactPressureRatio(mach);
+        }
+        return interpolate(pressureRatio, mach);
+    }
+
+    /**
+     * A/A* при заданном числе Маха (интерполяция по таблице)
+     */
+    public double areaRatio(double mach) {
+        if (!(mach >= MIN_AREA_TABLE_MACH) || mach >= MAX_MACH) {
+            return exactAreaRatio(mach);
+        }
+        return interpolate(areaRatio, mach);
+    }
+
+    private static double interpolate(double[] table, double mach) {
+        double x = mach / MACH_STEP;
+        int i = (int) x;
+        if (i >= MACH_POINTS - 1) {
+            return table[MACH_POINTS - 1];
+        }
+        double t = x - i;
+        return table[i] + t * (table[i + 1] - table[i]);
+    }
+
+    /**
+     * Число Маха по отношению площадей A/A* (обратная задача).
+     *
+     * @param areaRatio  отношение площади сечения к критической, не меньше 1
+     * @param supersonic ветвь решения: сверхзвуковая (M ≥ 1) или дозвуковая (M ≤ 1)
+     * @return число Маха или NaN, если A/A* меньше 1
+     */
+    public double machFromAreaRatio(double areaRatio, boolean supersonic) {
+        if (!(areaRatio >= 1)) {
+            return Double.NaN;
+        }
+        double s = Math.sqrt(areaRatio - 1);
+        if (s == 0) {
+            return 1;
+        }
+
+        double[] table = supersonic ? supersonicMach : subsonicMach;
+        double x = s / (supersonic ? supersonicStep : subsonicStep);
+        if (x < INVERSE_POINTS - 1) {
+            int i = (int) x;
+            double t = x - i;
+            double guess = table[i] + t * (table[i + 1] - table[i]);
+            return newton(guess, s, supersonic, 1);
+        }
+
+        // За пределами таблицы: начальное приближение по асимптотике и итерации до сходимости.
+        // При M → ∞: A/A* ≈ ((2/(γ+1)) (γ-1)/2)^k * M^(2k-1); при M → 0: A/A* ≈ (2/(γ+1))^k / M
+        double guess = supersonic
+                ? Math.max(MAX_MACH, Math.pow(areaRatio / Math.pow(areaScale * halfGammaMinusOne, areaExponent),
+                        1 / (2 * areaExponent - 1)))
+                : Math.pow(areaScale, areaExponent) / areaRatio;
+        return newton(guess, s, supersonic, MAX_NEWTON_ITERATIONS);
+    }
+
+    /**
+     * Метод Ньютона для уравнения √(A/A*(M) - 1) = s на выбранной ветви.
+     * Выполняет не больше maxIterations шагов, останавливается при сходимости.
+     */
+    private double newton(double mach, double s, boolean supersonic, int maxIterations) {
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double m2 = mach * mach;
+            double base = 1 + halfGammaMinusOne * m2;
+            double area = Math.pow(areaScale * base, areaExponent) / mach;
+            double sigma = Math.sqrt(Math.max(0, area - 1));
+            if (sigma < 1e-12) {
+                break; // В звуковой точке производная вырождается, M уже равно 1 с точностью таблицы
+            }
+            // dA/dM = A (M² - 1) / (M (1 + (γ-1)/2 M²)),  dσ/dM = (dA/dM) / (2σ)
+            double derivative = area * (m2 - 1) / (mach * base) / (2 * sigma);
+            double next = mach - (sigma - s) / derivative;
+
+            // Не уходим на другую ветвь
+            if (supersonic) {
+                next = next < 1 ? (mach + 1) / 2 : next;
+            } else {
+                next = next > 1 ? (mach + 1) / 2 : (next <= 0 ? mach / 2 : next);
+            }
+            boolean converged = Math.abs(next - mach) <= 1e-14 * mach;
+            mach = next;
+            if (converged) {
+                break;
+            }
+        }
+        return mach;
+    }
+}
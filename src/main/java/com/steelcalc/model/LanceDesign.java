@@ -0,0 +1,14 @@
+package com.steelcalc.model;
+
+/**
+ * Вариант конструкции кислородной фурмы, найденный оптимизатором.
+ *
+ * @param input         входные данные варианта
+ * @param result        результаты расчета варианта
+ * @param forceError    относительное отклонение силы удара струи от целевой (доля)
+ * @param machViolation выход числа Маха за допустимый диапазон (0 - в диапазоне)
+ * @param feasible      выполнены ли все ограничения
+ */
+public record LanceDesign(OxygenLanceInput input, OxygenLanceResult result, double forceError,
+                          double machViolation, boolean feasible) {
+}
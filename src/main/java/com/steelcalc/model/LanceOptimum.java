@@ -0,0 +1,17 @@
+package com.steelcalc.model;
+
+import java.util.List;
+
+/**
+ * Результат оптимизации кислородной фурмы.
+ *
+ * @param designs           лучшие найденные варианты, от лучшего к худшему
+ *                          (сначала допустимые по убыванию эффективности)
+ * @param generations       число выполненных поколений поиска
+ * @param evaluations       общее число расчетов фурмы
+ * @param elapsedMillis     время оптимизации, мс
+ * @param machWindowReached найден ли хотя бы один вариант с числом Маха в допустимом диапазоне
+ */
+public record LanceOptimum(List<LanceDesign> designs, int generations, long evaluations,
+                           long elapsedMillis, boolean machWindowReached) {
+}
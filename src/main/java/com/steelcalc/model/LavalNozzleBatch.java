@@ -0,0 +1,107 @@
+package com.steelcalc.model;
+
+/**
+ * Пакет расчетов сопла Лаваля в виде столбцов (structure of arrays).
+ *
+ * Все конфигурации пакета считаются для одного рабочего газа, поэтому его
+ * коэффициенты (GasProperties) берутся один раз на весь пакет. Каждый входной параметр и каждый результат
+ * хранится в своем массиве, i-й элемент всех массивов относится к одной конфигурации.
+ * Массивы отдаются геттерами без копирования. Единицы измерения те же, что и в LavalNozzle.
+ */
+public class LavalNozzleBatch {
+    private final int size;
+    private final GasProperties gas;
+
+    // Входные параметры
+    private final double[] inletPressure;    // P0, атм
+    private final double[] outletPressure;   // Pe, атм
+    private final double[] temperature;      // T0, K
+    private final double[] massFlowRate;     // кг/с
+    private final double[] expansionRatio;   // ε
+    private final boolean[] supersonic;
+
+    // Результаты расчета
+    private final double[] throatArea;       // мм²
+    private final double[] exitArea;         // мм²
+    private final double[] exitVelocity;     // м/с
+    private final double[] machNumber;
+    private final double[] thrust;           // Н
+    private final double[] efficiency;       // %
+
+    /**
+     * Пустой пакет заданного размера
+     */
+    public LavalNozzleBatch(GasProperties gas, int size) {
+        this(gas, new double[size], new double[size], new double[size],
+                new double[size], new double[size], new boolean[size]);
+    }
+
+    /**
+     * Пакет над готовыми столбцами входных параметров (массивы не копируются)
+     */
+    public LavalNozzleBatch(GasProperties gas, double[] inletPressure, double[] outletPressure,
+                            double[] temperature, double[] massFlowRate, double[] expansionRatio,
+                            boolean[] supersonic) {
+        this.size = inletPressure.length;
+        checkLength(outletPressure.length, "outletPressure");
+        checkLength(temperature.length, "temperature");
+        checkLength(massFlowRate.length, "massFlowRate");
+        checkLength(expansionRatio.length, "expansionRatio");
+        checkLength(supersonic.length, "supersonic");
+
+        this.gas = gas;
+        this.inletPressure = inletPressure;
+        this.outletPressure = outletPressure;
+        this.temperature = temperature;
+        this.massFlowRate = massFlowRate;
+        this.expansionRatio = expansionRatio;
+        this.supersonic = supersonic;
+
+        this.throatArea = new double[size];
+        this.exitArea = new double[size];
+        this.exitVelocity = new double[size];
+        this.machNumber = new double[size];
+        this.thrust = new double[size];
+        this.efficiency = new double[size];
+    }
+
+    private void checkLength(int length, String name) {
+        if (length != size) {
+            throw new IllegalArgumentException("Длина столбца " + name + " (" + length +
+                    ") не совпадает с размером пакета (" + size + ")");
+        }
+    }
+
+    public int size() { return size; }
+    public GasProperties getGas() { return gas; }
+
+    public double[] getInletPressure() { return inletPressure; }
+    public double[] getOutletPressure() { return outletPressure; }
+    public double[] getTemperature() { return temperature; }
+    public double[] getMassFlowRate() { return massFlowRate; }
+    public double[] getExpansionRatio() { return expansionRatio; }
+    public boolean[] getSupersonic() { return supersonic; }
+
+    public double[] getThroatArea() { return throatArea; }
+    public double[] getExitArea() { return exitArea; }
+    public double[] getExitVelocity() { return exitVelocity; }
+    public double[] getMachNumber() { return machNumber; }
+    public double[] getThrust() { return thrust; }
+    public double[] getEfficiency() { return efficiency; }
+
+    /**
+     * Входные параметры i-й конфигурации
+     */
+    public LavalNozzleInput getInput(int index) {
+        return new LavalNozzleInput(gas, inletPressure[index], outletPressure[index],
+                temperature[index], massFlowRate[index], expansionRatio[index], supersonic[index]);
+    }
+
+    /**
+     * Результаты i-й конфигурации
+     */
+    public LavalNozzleResult getResult(int index) {
+        return new LavalNozzleResult(throatArea[index], exitArea[index], exitVelocity[index],
+                machNumber[index], thrust[index], efficiency[index]);
+    }
+}
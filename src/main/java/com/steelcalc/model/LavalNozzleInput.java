@@ -0,0 +1,32 @@
+package com.steelcalc.model;
+
+/**
+ * Неизменяемый набор входных параметров расчета сопла Лаваля.
+ * Единицы измерения те же, что и в LavalNozzle. Газ хранится уже найденным
+ * в справочнике GasRegistry, чтобы расчет не искал его по имени.
+ *
+ * @param gas            свойства рабочего газа
+ * @param inletPressure  давление на входе P0, атм
+ * @param outletPressure давление на выходе Pe, атм
+ * @param temperature    температура на входе T0, K
+ * @param massFlowRate   массовый расход, кг/с
+ * @param expansionRatio степень расширения
+ * @param supersonic     сверхзвуковой режим течения
+ */
+public record LavalNozzleInput(GasProperties gas, double inletPressure, double outletPressure,
+                               double temperature, double massFlowRate, double expansionRatio,
+                               boolean supersonic) {
+
+    /**
+     * Снимок входных параметров из объекта сопла
+     */
+    public static LavalNozzleInput from(LavalNozzle nozzle) {
+        return new LavalNozzleInput(GasRegistry.find(nozzle.getGasType()), nozzle.getInletPressure(),
+                nozzle.getOutletPressure(), nozzle.getTemperature(), nozzle.getMassFlowRate(),
+                nozzle.getExpansionRatio(), nozzle.isSupersonic());
+    }
+
+    public String gasType() {
+        return gas.getName();
+    }
+}
@@ -0,0 +1,49 @@
+package com.steelcalc.model;
+
+import java.util.Map;
+
+/**
+ * Неизменяемые результаты расчета сопла Лаваля.
+ *
+ * @param throatArea   площадь критического сечения, мм²
+ * @param exitArea     площадь выходного сечения, мм²
+ * @param exitVelocity скорость истечения, м/с
+ * @param machNumber   число Маха на выходе
+ * @param thrust       тяга, Н
+ * @param efficiency   эффективность, %
+ */
+public record LavalNozzleResult(double throatArea, double exitArea, double exitVelocity,
+                                double machNumber, double thrust, double efficiency) {
+
+    /**
+     * Восстановление результатов из карты выходных значений сохраненного расчета
+     *
+     * @return результаты или null, если в карте не хватает значений
+     */
+    public static LavalNozzleResult fromOutputs(Map<String, Double> outputs) {
+        Double throatArea = outputs.get("throatArea");
+        Double exitArea = outputs.get("exitArea");
+        Double exitVelocity = outputs.get("exitVelocity");
+        Double machNumber = outputs.get("machNumber");
+        Double thrust = outputs.get("thrust");
+        Double efficiency = outputs.get("efficiency");
+        if (throatArea == null || exitArea == null || exitVelocity == null ||
+                machNumber == null || thrust == null || efficiency == null) {
+            return null;
+        }
+        return new LavalNozzleResult(throatArea, exitArea, exitVelocity, machNumber, thrust, efficiency);
+    }
+
+    /**
+     * Перенос результатов в объект сопла (примечания не заполняются)
+     */
+    public LavalNozzle applyTo(LavalNozzle nozzle) {
+        nozzle.setThroatArea(throatArea);
+        nozzle.setExitArea(exitArea);
+        nozzle.setExitVelocity(exitVelocity);
+        nozzle.setMachNumber(machNumber);
+        nozzle.setThrust(thrust);
+        nozzle.setEfficiency(efficiency);
+        return nozzle;
+    }
+}
@@ -0,0 +1,19 @@
+package com.steelcalc.model;
+
+import java.util.List;
+
+/**
+ * Результат оптимизации сопла Лаваля.
+ *
+ * @param input         входные данные оптимального сопла
+ * @param result        результаты расчета оптимального сопла
+ * @param objective     достигнутое значение целевой функции (тяга, Н, или эффективность, %)
+ * @param feasible      выполнены ли все ограничения
+ * @param evaluations   общее число расчетов сопла во всех запусках
+ * @param elapsedMillis время оптимизации, мс
+ * @param trace         история сходимости всех запусков (в порядке запусков)
+ */
+public record NozzleOptimum(LavalNozzleInput input, LavalNozzleResult result, double objective,
+                            boolean feasible, long evaluations, long elapsedMillis,
+                            List<OptimizationStep> trace) {
+}
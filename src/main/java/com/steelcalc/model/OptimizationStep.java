@@ -0,0 +1,15 @@
+package com.steelcalc.model;
+
+/**
+ * Точка истории сходимости оптимизации: улучшение лучшего значения целевой функции
+ * в одном из запусков поиска.
+ *
+ * @param start          номер запуска (поддиапазона мультистарта)
+ * @param evaluation     номер расчета внутри запуска, на котором найдено улучшение
+ * @param expansionRatio степень расширения в найденной точке
+ * @param inletPressure  давление на входе в найденной точке, атм
+ * @param objective      значение целевой функции (со штрафом за нарушение ограничений)
+ */
+public record OptimizationStep(int start, int evaluation, double expansionRatio,
+                               double inletPressure, double objective) {
+}
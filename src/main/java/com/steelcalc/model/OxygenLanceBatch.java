@@ -0,0 +1,95 @@
+package com.steelcalc.model;
+
+/**
+ * Пакет расчетов кислородной фурмы в виде столбцов (structure of arrays).
+ *
+ * Каждый входной параметр и каждый результат хранится в своем массиве double[],
+ * i-й элемент всех массивов относится к одной конфигурации фурмы.
+ * Массивы отдаются геттерами без копирования - их можно заполнять напрямую.
+ * Единицы измерения те же, что и в OxygenLance.
+ */
+public class OxygenLanceBatch {
+    private final int size;
+
+    // Входные параметры
+    private final double[] oxygenFlowRate;   // м³/ч
+    private final double[] pressure;         // МПа
+    private final double[] nozzleDiameter;   // мм
+    private final double[] temperature;      // °C
+    private final double[] oxygenPurity;     // %
+
+    // Результаты расчета
+    private final double[] exitVelocity;     // м/с
+    private final double[] jetForce;         // Н
+    private final double[] efficiency;       // %
+    private final double[] machNumber;
+    private final double[] reynoldsNumber;
+
+    /**
+     * Пустой пакет заданного размера
+     */
+    public OxygenLanceBatch(int size) {
+        this(new double[size], new double[size], new double[size], new double[size], new double[size]);
+    }
+
+    /**
+     * Пакет над готовыми столбцами входных параметров (массивы не копируются)
+     */
+    public OxygenLanceBatch(double[] oxygenFlowRate, double[] pressure, double[] nozzleDiameter,
+                            double[] temperature, double[] oxygenPurity) {
+        this.size = pressure.length;
+        checkLength(oxygenFlowRate, "oxygenFlowRate");
+        checkLength(nozzleDiameter, "nozzleDiameter");
+        checkLength(temperature, "temperature");
+        checkLength(oxygenPurity, "oxygenPurity");
+
+        this.oxygenFlowRate = oxygenFlowRate;
+        this.pressure = pressure;
+        this.nozzleDiameter = nozzleDiameter;
+        this.temperature = temperature;
+        this.oxygenPurity = oxygenPurity;
+
+        this.exitVelocity = new double[size];
+        this.jetForce = new double[size];
+        this.efficiency = new double[size];
+        this.machNumber = new double[size];
+        this.reynoldsNumber = new double[size];
+    }
+
+    private void checkLength(double[] column, String name) {
+        if (column.length != size) {
+            throw new IllegalArgumentException("Длина столбца " + name + " (" + column.length +
+                    ") не совпадает с размером пакета (" + size + ")");
+        }
+    }
+
+    public int size() { return size; }
+
+    public double[] getOxygenFlowRate() { return oxygenFlowRate; }
+    public double[] getPressure() { return pressure; }
+    public double[] getNozzleDiameter() { return nozzleDiameter; }
+    public double[] getTemperature() { return temperature; }
+    public double[] getOxygenPurity() { return oxygenPurity; }
+
+    public double[] getExitVelocity() { return exitVelocity; }
+    public double[] getJetForce() { return jetForce; }
+    public double[] getEfficiency() { return efficiency; }
+    public double[] getMachNumber() { return machNumber; }
+    public double[] getReynoldsNumber() { return reynoldsNumber; }
+
+    /**
+     * Входные параметры i-й конфигурации
+     */
+    public OxygenLanceInput getInput(int index) {
+        return new OxygenLanceInput(oxygenFlowRate[index], pressure[index], nozzleDiameter[index],
+                temperature[index], oxygenPurity[index]);
+    }
+
+    /**
+     * Результаты i-й конфигурации
+     */
+    public OxygenLanceResult getResult(int index) {
+        return new OxygenLanceResult(exitVelocity[index], jetForce[index], efficiency[index],
+                machNumber[index], reynoldsNumber[index]);
+    }
+}
@@ -0,0 +1,23 @@
+package com.steelcalc.model;
+
+/**
+ * Неизменяемый набор входных параметров расчета кислородной фурмы.
+ * Единицы измерения те же, что и в OxygenLance.
+ *
+ * @param oxygenFlowRate расход кислорода, м³/ч
+ * @param pressure       давление, МПа
+ * @param nozzleDiameter диаметр сопла, мм
+ * @param temperature    температура, °C
+ * @param oxygenPurity   чистота кислорода, %
+ */
+public record OxygenLanceInput(double oxygenFlowRate, double pressure, double nozzleDiameter,
+                               double temperature, double oxygenPurity) {
+
+    /**
+     * Снимок входных параметров из объекта фурмы
+     */
+    public static OxygenLanceInput from(OxygenLance lance) {
+        return new OxygenLanceInput(lance.getOxygenFlowRate(), lance.getPressure(),
+                lance.getNozzleDiameter(), lance.getTemperature(), lance.getOxygenPurity());
+    }
+}
@@ -0,0 +1,46 @@
+package com.steelcalc.model;
+
+import java.util.Map;
+
+/**
+ * Неизменяемые результаты расчета кислородной фурмы.
+ *
+ * @param exitVelocity   скорость истечения, м/с
+ * @param jetForce       сила удара струи, Н
+ * @param efficiency     эффективность, %
+ * @param machNumber     число Маха
+ * @param reynoldsNumber число Рейнольдса
+ */
+public record OxygenLanceResult(double exitVelocity, double jetForce, double efficiency,
+                                double machNumber, double reynoldsNumber) {
+
+    /**
+     * Восстановление результатов из карты выходных значений сохраненного расчета
+     *
+     * @return результаты или null, если в карте не хватает значений
+     */
+    public static OxygenLanceResult fromOutputs(Map<String, Double> outputs) {
+        Double exitVelocity = outputs.get("exitVelocity");
+        Double jetForce = outputs.get("jetForce");
+        Double efficiency = outputs.get("efficiency");
+        Double machNumber = outputs.get("machNumber");
+        Double reynoldsNumber = outputs.get("reynoldsNumber");
+        if (exitVelocity == null || jetForce == null || efficiency == null ||
+                machNumber == null || reynoldsNumber == null) {
+            return null;
+        }
+        return new OxygenLanceResult(exitVelocity, jetForce, efficiency, machNumber, reynoldsNumber);
+    }
+
+    /**
+     * Перенос результатов в объект фурмы (примечания не заполняются)
+     */
+    public OxygenLance applyTo(OxygenLance lance) {
+        lance.setExitVelocity(exitVelocity);
+        lance.setJetForce(jetForce);
+        lance.setEfficiency(efficiency);
+        lance.setMachNumber(machNumber);
+        lance.setReynoldsNumber(reynoldsNumber);
+        return lance;
+    }
+}
@@ -0,0 +1,24 @@
+package com.steelcalc.model;
+
+/**
+ * Позиция в истории расчетов для постраничной выборки (keyset pagination).
+ * Хранит ключ сортировки последней выданной строки: дату расчета в том виде,
+ * в каком она лежит в БД, и ID. Следующая страница начинается строго после него.
+ */
+public final class PageCursor {
+    private final Object calculationDateKey;
+    private final int id;
+
+    public PageCursor(Object calculationDateKey, int id) {
+        this.calculationDateKey = calculationDateKey;
+        this.id = id;
+    }
+
+    public Object getCalculationDateKey() { return calculationDateKey; }
+    public int getId() { return id; }
+
+    @Override
+    public String toString() {
+        return "PageCursor[" + calculationDateKey + ", " + id + "]";
+    }
+}
@@ -0,0 +1,16 @@
+package com.steelcalc.model;
+
+/**
+ * Вид числового параметра расчета: входной параметр или результат
+ */
+public enum ParameterDirection {
+    INPUT,   // Входные параметры (inputParameters)
+    OUTPUT;  // Результаты расчета (outputResults)
+
+    /**
+     * Код, под которым направление хранится в БД
+     */
+    public int getCode() {
+        return ordinal();
+    }
+}
@@ -0,0 +1,31 @@
+package com.steelcalc.model;
+
+import java.util.Map;
+
+/**
+ * Точка Парето-фронта: вариант конструкции, который нельзя улучшить
+ * ни по одному критерию, не ухудшив другой.
+ *
+ * @param inputs  входные параметры (ключи как в CalculationResult.inputParameters)
+ * @param outputs результаты расчета и производные критерии (например, oxygenConsumption)
+ */
+public record ParetoPoint(Map<String, Double> inputs, Map<String, Double> outputs) {
+
+    public ParetoPoint {
+        inputs = Map.copyOf(inputs);
+        outputs = Map.copyOf(outputs);
+    }
+
+    /**
+     * Значение параметра по имени: сначала среди результатов, затем среди входных данных
+     *
+     * @return значение или NaN, если такого параметра нет
+     */
+    public double value(String parameter) {
+        Double value = outputs.get(parameter);
+        if (value == null) {
+            value = inputs.get(parameter);
+        }
+        return value != null ? value : Double.NaN;
+    }
+}
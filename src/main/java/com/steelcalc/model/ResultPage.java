@@ -0,0 +1,26 @@
+package com.steelcalc.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Одна страница результатов выборки и курсор для получения следующей
+ */
+public class ResultPage<T> {
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    public ResultPage(List<T> items, PageCursor nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    /**
+     * Курсор для следующей страницы или null, если это последняя страница
+     */
+    public PageCursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
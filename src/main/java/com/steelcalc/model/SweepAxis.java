@@ -0,0 +1,58 @@
+package com.steelcalc.model;
+
+import java.util.Arrays;
+
+/**
+ * Ось параметрического исследования: имя входного параметра и его значения.
+ * Имена параметров совпадают с ключами входных параметров CalculationResult
+ * (например, "pressure" для фурмы или "expansionRatio" для сопла).
+ */
+public class SweepAxis {
+    private final String parameter;
+    private final double[] values;
+
+    public SweepAxis(String parameter, double[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Для параметра " + parameter + " не задано ни одного значения");
+        }
+        this.parameter = parameter;
+        this.values = values.clone();
+    }
+
+    /**
+     * Равномерная сетка из points значений от from до to включительно
+     */
+    public static SweepAxis range(String parameter, double from, double to, int points) {
+        if (points < 1) {
+            throw new IllegalArgumentException("Число точек по параметру " + parameter + " должно быть не меньше 1");
+        }
+        double[] values = new double[points];
+        if (points == 1) {
+            values[0] = from;
+        } else {
+            double step = (to - from) / (points - 1);
+            for (int i = 0; i < points; i++) {
+                values[i] = from + step * i;
+            }
+            values[points - 1] = to; // Без накопленной ошибки округления на конце диапазона
+        }
+        return new SweepAxis(parameter, values);
+    }
+
+    /**
+     * Ось с явно перечисленными значениями
+     */
+    public static SweepAxis of(String parameter, double... values) {
+        return new SweepAxis(parameter, values);
+    }
+
+    public String getParameter() { return parameter; }
+    public int size() { return values.length; }
+    public double getValue(int index) { return values[index]; }
+    public double[] getValues() { return values.clone(); }
+
+    @Override
+    public String toString() {
+        return parameter + Arrays.toString(values);
+    }
+}
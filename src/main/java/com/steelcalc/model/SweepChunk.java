@@ -0,0 +1,66 @@
+package com.steelcalc.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Порция результатов параметрического исследования.
+ *
+ * Хранит подряд идущие точки сетки, начиная с firstIndex, в виде столбцов:
+ * inputs[столбец][строка] и outputs[столбец][строка]. Порядок столбцов
+ * задается списками inputNames и outputNames. Порции приходят из разных
+ * потоков и не обязательно по порядку номеров точек.
+ */
+public class SweepChunk {
+    private final String calculationType;
+    private final long firstIndex;
+    private final int size;
+    private final List<String> inputNames;
+    private final List<String> outputNames;
+    private final double[][] inputs;
+    private final double[][] outputs;
+
+    public SweepChunk(String calculationType, long firstIndex, int size,
+                      List<String> inputNames, double[][] inputs,
+                      List<String> outputNames, double[][] outputs) {
+        this.calculationType = calculationType;
+        this.firstIndex = firstIndex;
+        this.size = size;
+        this.inputNames = inputNames;
+        this.inputs = inputs;
+        this.outputNames = outputNames;
+        this.outputs = outputs;
+    }
+
+    public String getCalculationType() { return calculationType; }
+    public long getFirstIndex() { return firstIndex; }
+    public int size() { return size; }
+    public List<String> getInputNames() { return inputNames; }
+    public List<String> getOutputNames() { return outputNames; }
+
+    public double getInput(int column, int row) { return inputs[column][row]; }
+    public double getOutput(int column, int row) { return outputs[column][row]; }
+
+    /**
+     * Входные параметры строки в виде карты (для сохранения в CalculationResult)
+     */
+    public Map<String, Double> getInputMap(int row) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int column = 0; column < inputNames.size(); column++) {
+            map.put(inputNames.get(column), inputs[column][row]);
+        }
+        return map;
+    }
+
+    /**
+     * Результаты строки в виде карты
+     */
+    public Map<String, Double> getOutputMap(int row) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int column = 0; column < outputNames.size(); column++) {
+            map.put(outputNames.get(column), outputs[column][row]);
+        }
+        return map;
+    }
+}
@@ -1,375 +1,532 @@
-package com.steelcalc.service;
-
-import com.steelcalc.model.OxygenLance;
-import com.steelcalc.model.LavalNozzle;
-import com.steelcalc.model.CalculationResult;
-
-/**
- * Сервис для выполнения расчетов согласно учебному пособию
- * Токовой О.К. "Производство стали и сплавов"
- *
- * Внимание: Формулы упрощены для демонстрации.
- * В реальном приложении следует использовать точные формулы из пособия.
- */
-public class CalculationService {
-
-    // Константы
-    private static final double GAS_CONSTANT = 8.314462618; // Универсальная газовая постоянная, Дж/(моль·K)
-    private static final double MOLAR_MASS_O2 = 0.032;      // Молярная масса O2, кг/моль
-    private static final double GAMMA_O2 = 1.4;             // Показатель адиабаты для O2
-    private static final double STANDARD_PRESSURE = 101325; // Стандартное давление, Па
-    private static final double PI = Math.PI;
-
-    /**
-     * Расчет параметров кислородной фурмы
-     * Основные формулы согласно учебному пособию
-     *
-     * @param lance объект с входными параметрами
-     * @return заполненный объект с результатами расчетов
-     */
-    public OxygenLance calculateOxygenLance(OxygenLance lance) {
-        // Извлечение входных параметров
-        double G = lance.getOxygenFlowRate();      // Расход кислорода, м³/ч
-        double P = lance.getPressure() * 1e6;      // Давление, преобразуем МПа в Па
-        double d = lance.getNozzleDiameter() / 1000; // Диаметр сопла, преобразуем мм в м
-        double T = lance.getTemperature() + 273.15; // Температура, преобразуем °C в K
-        double purity = lance.getOxygenPurity() / 100; // Чистота кислорода, доля
-
-        // 1. Расчет скорости истечения (упрощенная формула)
-        // V = √(2 * (γ/(γ-1)) * (R/M) * T * [1 - (Pe/P)^((γ-1)/γ)])
-        // Для сверхзвукового истечения в вакуум Pe/P → 0
-        double R_specific = GAS_CONSTANT / MOLAR_MASS_O2; // Удельная газовая постоянная
-        double pressureRatio = 0.1; // Отношение давлений (Pe/P), упрощение
-
-        double velocity = Math.sqrt(
-                2 * (GAMMA_O2 / (GAMMA_O2 - 1)) *
-                        R_specific * T *
-                        (1 - Math.pow(pressureRatio, (GAMMA_O2 - 1) / GAMMA_O2))
-        ) * purity; // Учет чистоты кислорода
-
-        // 2. Расчет площади сечения сопла
-        double area = PI * Math.pow(d / 2, 2); // A = π * (d/2)², м²
-
-        // 3. Расчет силы удара струи
-        // F = ρ * V² * A, где ρ - плотность кислорода при данных условиях
-        double density = (P * MOLAR_MASS_O2) / (GAS_CONSTANT * T); // Уравнение состояния идеального газа
-        double force = density * Math.pow(velocity, 2) * area;
-
-        // 4. Расчет числа Маха
-        // Скорость звука: a = √(γ * R * T)
-        double speedOfSound = Math.sqrt(GAMMA_O2 * R_specific * T);
-        double machNumber = velocity / speedOfSound;
-
-        // 5. Расчет числа Рейнольдса (для оценки режима течения)
-        // Re = (ρ * V * d) / μ, где μ - динамическая вязкость
-        double viscosity = 2.0e-5; // Приблизительное значение для O2 при 300K, Па·с
-        double reynoldsNumber = (density * velocity * d) / viscosity;
-
-        // 6. Расчет эффективности (упрощенно)
-        double efficiency = Math.min(95.0, 80.0 + (purity * 15) - (Math.abs(machNumber - 2) * 5));
-
-        // Заполнение результатов
-        lance.setExitVelocity(velocity);
-        lance.setJetForce(force);
-        lance.setMachNumber(machNumber);
-        lance.setReynoldsNumber(reynoldsNumber);
-        lance.setEfficiency(efficiency);
-
-        // Формирование рекомендаций
-        String notes = generateOxygenLanceNotes(lance);
-        lance.setNotes(notes);
-
-        return lance;
-    }
-
-    /**
-     * Генерация рекомендаций для кислородной фурмы
-     */
-    private String generateOxygenLanceNotes(OxygenLance lance) {
-        StringBuilder notes = new StringBuilder();
-
-        if (lance.getMachNumber() < 1) {
-            notes.append("Внимание: Режим дозвуковой. Рекомендуется увеличить давление.\n");
-        } else if (lance.getMachNumber() > 3) {
-            notes.append("Внимание: Слишком высокое число Маха. Возможны потери энергии.\n");
-        } else {
-            notes.append("Режим течения оптимальный.\n");
-        }
-
-        if (lance.getEfficiency() < 85) {
-            notes.append("Эффективность ниже оптимальной. Проверьте чистоту кислорода.\n");
-        }
-
-        if (lance.getReynoldsNumber() > 4000) {
-            notes.append("Турбулентный режим течения - хорошее перемешивание.\n");
-        } else {
-            notes.append("Ламинарный режим течения.\n");
-        }
-
-        // Расчет рекомендуемого давления
-        double recommendedPressure = lance.getPressure() * 1.1;
-        notes.append(String.format("Рекомендуемое давление: %.1f МПа\n", recommendedPressure));
-
-        return notes.toString();
-    }
-
-    /**
-     * Расчет параметров сопла Лаваля
-     * Основные формулы для сопла Лаваля
-     *
-     * @param nozzle объект с входными параметрами
-     * @return заполненный объект с результатами расчетов
-     */
-    public LavalNozzle calculateLavalNozzle(LavalNozzle nozzle) {
-        // Извлечение входных параметров
-        String gasType = nozzle.getGasType();
-        double P0 = nozzle.getInletPressure() * 101325; // Преобразуем атм в Па
-        double Pe = nozzle.getOutletPressure() * 101325;
-        double T0 = nozzle.getTemperature(); // Уже в K
-        double m_dot = nozzle.getMassFlowRate();
-        double epsilon = nozzle.getExpansionRatio();
-        boolean supersonic = nozzle.isSupersonic();
-
-        // Определение свойств газа
-        double gamma = getGammaForGas(gasType);
-        double R = getGasConstant(gasType);
-        double M = getMolarMass(gasType);
-        double R_specific = R / M;
-
-        // 1. Расчет критических параметров (параметры в горле сопла)
-        // Критическое давление: P* = P0 * (2/(γ+1))^(γ/(γ-1))
-        double criticalPressureRatio = Math.pow(2 / (gamma + 1), gamma / (gamma - 1));
-        double P_star = P0 * criticalPressureRatio;
-
-        // Критическая температура: T* = T0 * (2/(γ+1))
-        double T_star = T0 * (2 / (gamma + 1));
-
-        // Критическая скорость (скорость звука в горле): a* = √(γ * R_specific * T*)
-        double a_star = Math.sqrt(gamma * R_specific * T_star);
-
-        // 2. Расчет площади критического сечения из уравнения расхода
-        // ṁ = (A* * P0) / √(T0) * √(γ/R) * (2/(γ+1))^((γ+1)/(2*(γ-1)))
-        double massFlowFactor = Math.sqrt(gamma / R_specific) *
-                Math.pow(2 / (gamma + 1), (gamma + 1) / (2 * (gamma - 1)));
-
-        double A_star = (m_dot * Math.sqrt(T0)) / (P0 * massFlowFactor);
-        double A_star_mm2 = A_star * 1e6; // Преобразуем м² в мм²
-
-        // 3. Расчет площади выходного сечения
-        double A_exit = A_star * epsilon;
-        double A_exit_mm2 = A_exit * 1e6;
-
-        // 4. Расчет скорости истечения
-        // Для сверхзвукового сопла
-        double exitVelocity;
-        if (supersonic) {
-            // Ve = √(2 * (γ/(γ-1)) * R_specific * T0 * [1 - (Pe/P0)^((γ-1)/γ)])
-            exitVelocity = Math.sqrt(
-                    2 * (gamma / (gamma - 1)) *
-                            R_specific * T0 *
-                            (1 - Math.pow(Pe / P0, (gamma - 1) / gamma))
-            );
-        } else {
-            // Для дозвукового течения
-            exitVelocity = a_star * 0.7; // Упрощение
-        }
-
-        // 5. Расчет числа Маха на выходе
-        double speedOfSoundExit = Math.sqrt(gamma * R_specific * T0 *
-                Math.pow(Pe / P0, (gamma - 1) / gamma));
-        double machNumberExit = exitVelocity / speedOfSoundExit;
-
-        // 6. Расчет тяги
-        // F = ṁ * Ve + (Pe - P_amb) * Ae, где P_amb - атмосферное давление
-        double P_amb = 101325; // Стандартное атмосферное давление
-        double thrust = m_dot * exitVelocity + (Pe - P_amb) * A_exit;
-
-        // 7. Расчет эффективности
-        double idealThrust = m_dot * a_star * 2.0; // Упрощенный идеальный случай
-        double efficiency = Math.min(98.0, (thrust / idealThrust) * 100);
-
-        // Заполнение результатов
-        nozzle.setThroatArea(A_star_mm2);
-        nozzle.setExitArea(A_exit_mm2);
-        nozzle.setExitVelocity(exitVelocity);
-        nozzle.setMachNumber(machNumberExit);
-        nozzle.setThrust(thrust);
-        nozzle.setEfficiency(efficiency);
-
-        // Формирование рекомендаций
-        String notes = generateLavalNozzleNotes(nozzle);
-        nozzle.setNotes(notes);
-
-        return nozzle;
-    }
-
-    /**
-     * Получение показателя адиабаты для различных газов
-     */
-    private double getGammaForGas(String gasType) {
-        switch (gasType.toLowerCase()) {
-            case "кислород": return 1.4;
-            case "азот": return 1.4;
-            case "воздух": return 1.4;
-            case "водяной пар": return 1.33;
-            case "гелий": return 1.66;
-            default: return 1.4;
-        }
-    }
-
-    /**
-     * Получение газовой постоянной для различных газов
-     */
-    private double getGasConstant(String gasType) {
-        return GAS_CONSTANT; // Универсальная газовая постоянная
-    }
-
-    /**
-     * Получение молярной массы для различных газов
-     */
-    private double getMolarMass(String gasType) {
-        switch (gasType.toLowerCase()) {
-            case "кислород": return 0.032;
-            case "азот": return 0.028;
-            case "воздух": return 0.029;
-            case "водяной пар": return 0.018;
-            case "гелий": return 0.004;
-            default: return 0.029;
-        }
-    }
-
-    /**
-     * Генерация рекомендаций для сопла Лаваля
-     */
-    private String generateLavalNozzleNotes(LavalNozzle nozzle) {
-        StringBuilder notes = new StringBuilder();
-
-        if (nozzle.isSupersonic() && nozzle.getMachNumber() < 1) {
-            notes.append("Внимание: Режим дозвуковой при ожидаемом сверхзвуковом. ");
-            notes.append("Проверьте степень расширения.\n");
-        }
-
-        if (!nozzle.isSupersonic() && nozzle.getMachNumber() > 0.8) {
-            notes.append("Внимание: Приближение к скорости звука. ");
-            notes.append("Рассмотрите переход на сверхзвуковое сопло.\n");
-        }
-
-        if (nozzle.getEfficiency() < 90) {
-            notes.append("Эффективность ниже оптимальной. ");
-            notes.append("Рекомендуется оптимизировать степень расширения.\n");
-        }
-
-        // Расчет оптимальной степени расширения
-        double optimalEpsilon = Math.sqrt(nozzle.getInletPressure() / nozzle.getOutletPressure());
-        notes.append(String.format("Оптимальная степень расширения: %.2f\n", optimalEpsilon));
-
-        if (Math.abs(nozzle.getExpansionRatio() - optimalEpsilon) > 2) {
-            notes.append("Текущая степень расширения далека от оптимальной.\n");
-        }
-
-        return notes.toString();
-    }
-
-    /**
-     * Преобразование OxygenLance в CalculationResult для сохранения в БД
-     */
-    public CalculationResult convertToCalculationResult(OxygenLance lance, String title) {
-        CalculationResult result = new CalculationResult("OXYGEN_LANCE", title);
-        result.setUserId(lance.getUserId());
-
-        // Добавление входных параметров
-        result.addInputParameter("oxygenFlowRate", lance.getOxygenFlowRate());
-        result.addInputParameter("pressure", lance.getPressure());
-        result.addInputParameter("nozzleDiameter", lance.getNozzleDiameter());
-        result.addInputParameter("temperature", lance.getTemperature());
-        result.addInputParameter("oxygenPurity", lance.getOxygenPurity());
-
-        // Добавление результатов
-        result.addOutputResult("exitVelocity", lance.getExitVelocity());
-        result.addOutputResult("jetForce", lance.getJetForce());
-        result.addOutputResult("efficiency", lance.getEfficiency());
-        result.addOutputResult("machNumber", lance.getMachNumber());
-        result.addOutputResult("reynoldsNumber", lance.getReynoldsNumber());
-
-        result.setNotes(lance.getNotes());
-        result.setCalculationDate(lance.getCalculationDate());
-
-        return result;
-    }
-
-    /**
-     * Преобразование LavalNozzle в CalculationResult для сохранения в БД
-     */
-    public CalculationResult convertToCalculationResult(LavalNozzle nozzle, String title) {
-        CalculationResult result = new CalculationResult("LAVAL_NOZZLE", title);
-        result.setUserId(nozzle.getUserId());
-
-        // Добавление входных параметров
-        result.addInputParameter("inletPressure", nozzle.getInletPressure());
-        result.addInputParameter("outletPressure", nozzle.getOutletPressure());
-        result.addInputParameter("temperature", nozzle.getTemperature());
-        result.addInputParameter("massFlowRate", nozzle.getMassFlowRate());
-        result.addInputParameter("expansionRatio", nozzle.getExpansionRatio());
-        result.addInputParameter("isSupersonic", nozzle.isSupersonic() ? 1.0 : 0.0);
-
-        // Добавление результатов
-        result.addOutputResult("throatArea", nozzle.getThroatArea());
-        result.addOutputResult("exitArea", nozzle.getExitArea());
-        result.addOutputResult("exitVelocity", nozzle.getExitVelocity());
-        result.addOutputResult("machNumber", nozzle.getMachNumber());
-        result.addOutputResult("thrust", nozzle.getThrust());
-        result.addOutputResult("efficiency", nozzle.getEfficiency());
-
-        result.setNotes(nozzle.getNotes());
-        result.setCalculationDate(nozzle.getCalculationDate());
-
-        return result;
-    }
-
-    /**
-     * Валидация входных параметров для кислородной фурмы
-     */
-    public String validateOxygenLanceInput(OxygenLance lance) {
-        if (lance.getOxygenFlowRate() <= 0) {
-            return "Расход кислорода должен быть положительным";
-        }
-        if (lance.getPressure() <= 0) {
-            return "Давление должно быть положительным";
-        }
-        if (lance.getNozzleDiameter() <= 0) {
-            return "Диаметр сопла должен быть положительным";
-        }
-        if (lance.getTemperature() < -273) {
-            return "Температура не может быть ниже абсолютного нуля";
-        }
-        if (lance.getOxygenPurity() < 0 || lance.getOxygenPurity() > 100) {
-            return "Чистота кислорода должна быть в диапазоне 0-100%";
-        }
-        return null; // Все корректно
-    }
-
-    /**
-     * Валидация входных параметров для сопла Лаваля
-     */
-    public String validateLavalNozzleInput(LavalNozzle nozzle) {
-        if (nozzle.getInletPressure() <= 0) {
-            return "Давление на входе должно быть положительным";
-        }
-        if (nozzle.getOutletPressure() <= 0) {
-            return "Давление на выходе должно быть положительным";
-        }
-        if (nozzle.getInletPressure() <= nozzle.getOutletPressure()) {
-            return "Давление на входе должно быть больше давления на выходе";
-        }
-        if (nozzle.getTemperature() <= 0) {
-            return "Температура должна быть положительной";
-        }
-        if (nozzle.getMassFlowRate() <= 0) {
-            return "Массовый расход должен быть положительным";
-        }
-        if (nozzle.getExpansionRatio() < 1) {
-            return "Степень расширения должна быть не менее 1";
-        }
-        return null; // Все корректно
-    }
+package com.steelcalc.service;
+
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.IsentropicTable;
+import com.steelcalc.model.OxygenLance;
+import com.steelcalc.model.OxygenLanceBatch;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.OxygenLanceResult;
+import com.steelcalc.model.LavalNozzle;
+import com.steelcalc.model.LavalNozzleBatch;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.LavalNozzleResult;
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.util.ResultHasher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Сервис для выполнения расчетов согласно учебному пособию
+ * Токовой О.К. "Производство стали и сплавов"
+ *
+ * Внимание: Формулы упрощены для демонстрации.
+ * В реальном приложении следует использовать точные формулы из пособия.
+ */
+public class CalculationService {
+
+    // Константы
+    private static final double GAS_CONSTANT = GasProperties.UNIVERSAL_GAS_CONSTANT; // Дж/(моль·K)
+    private static final double MOLAR_MASS_O2 = 0.032;      // Молярная масса O2, кг/моль
+    private static final double GAMMA_O2 = 1.4;             // Показатель адиабаты для O2
+    private static final double STANDARD_PRESSURE = 101325; // Стандартное давление, Па
+    private static final double PI = Math.PI;
+
+    // Параметры фурмы, не зависящие от входных данных, вычисляются один раз
+    private static final double R_SPECIFIC_O2 = GAS_CONSTANT / MOLAR_MASS_O2; // Удельная газовая постоянная
+    private static final double LANCE_PRESSURE_RATIO = 0.1;  // Отношение давлений (Pe/P), упрощение
+    // V² = VELOCITY_FACTOR_O2 * T (до учета чистоты кислорода)
+    private static final double VELOCITY_FACTOR_O2 = 2 * (GAMMA_O2 / (GAMMA_O2 - 1)) * R_SPECIFIC_O2 *
+            (1 - Math.pow(LANCE_PRESSURE_RATIO, (GAMMA_O2 - 1) / GAMMA_O2));
+    // a² = SOUND_FACTOR_O2 * T
+    private static final double SOUND_FACTOR_O2 = GAMMA_O2 * R_SPECIFIC_O2;
+    private static final double VISCOSITY_O2 = 2.0e-5; // Приблизительное значение для O2 при 300K, Па·с
+    // ρ = P[МПа] * LANCE_DENSITY_FACTOR / T
+    private static final double LANCE_DENSITY_FACTOR = 1e6 * MOLAR_MASS_O2 / GAS_CONSTANT;
+    // M = LANCE_MACH_FACTOR * чистота (доля)
+    private static final double LANCE_MACH_FACTOR = Math.sqrt(VELOCITY_FACTOR_O2 / SOUND_FACTOR_O2);
+
+    // Пакеты не меньше этого размера при разрешенном параллелизме делятся на части
+    // по PARALLEL_CHUNK_SIZE точек и считаются в общем пуле ForkJoin
+    private static final int PARALLEL_BATCH_THRESHOLD = 16_384;
+    private static final int PARALLEL_CHUNK_SIZE = 4_096;
+
+    // Версия расчетной модели. Увеличивается при любом изменении формул: она входит
+    // в ключ хранилища результатов, и новые расчеты не ссылаются на результаты прежних версий
+    public static final int MODEL_VERSION = 1;
+
+    /*
+     * Сервис не хранит состояния: расчетное ядро (computeOxygenLance, computeLavalNozzle)
+     * работает только с неизменяемыми записями входных данных и результатов,
+     * поэтому один экземпляр можно использовать из нескольких потоков.
+     * Методы calculate* с объектами OxygenLance/LavalNozzle оставлены как обертки над ядром.
+     */
+
+    /**
+     * Расчет параметров кислородной фурмы
+     * Основные формулы согласно учебному пособию
+     *
+     * @param lance объект с входными параметрами
+     * @return заполненный объект с результатами расчетов
+     */
+    public OxygenLance calculateOxygenLance(OxygenLance lance) {
+        OxygenLanceInput input = OxygenLanceInput.from(lance);
+        OxygenLanceResult result = computeOxygenLance(input);
+        result.applyTo(lance);
+
+        // Формирование рекомендаций
+        lance.setNotes(buildOxygenLanceNotes(input, result));
+
+        return lance;
+    }
+
+    /**
+     * Расчетное ядро для кислородной фурмы: без побочных эффектов,
+     * примечания не формируются (см. buildOxygenLanceNotes)
+     */
+    public OxygenLanceResult computeOxygenLance(OxygenLanceInput input) {
+        double P = input.pressure() * 1e6;           // Давление, преобразуем МПа в Па
+        double d = input.nozzleDiameter() / 1000;    // Диаметр сопла, преобразуем мм в м
+        double T = input.temperature() + 273.15;     // Температура, преобразуем °C в K
+        double purity = input.oxygenPurity() / 100;  // Чистота кислорода, доля
+
+        // 1. Расчет скорости истечения (упрощенная формула)
+        // V = √(2 * (γ/(γ-1)) * (R/M) * T * [1 - (Pe/P)^((γ-1)/γ)])
+        double velocity = Math.sqrt(VELOCITY_FACTOR_O2 * T) * purity; // Учет чистоты кислорода
+
+        // 2. Расчет площади сечения сопла: A = π * (d/2)², м²
+        double radius = d / 2;
+        double area = PI * radius * radius;
+
+        // 3. Расчет силы удара струи
+        // F = ρ * V² * A, где ρ - плотность кислорода при данных условиях
+        double density = (P * MOLAR_MASS_O2) / (GAS_CONSTANT * T); // Уравнение состояния идеального газа
+        double force = density * velocity * velocity * area;
+
+        // 4. Расчет числа Маха, скорость звука: a = √(γ * R * T)
+        double machNumber = velocity / Math.sqrt(SOUND_FACTOR_O2 * T);
+
+        // 5. Расчет числа Рейнольдса (для оценки режима течения)
+        // Re = (ρ * V * d) / μ, где μ - динамическая вязкость
+        double reynoldsNumber = (density * velocity * d) / VISCOSITY_O2;
+
+        // 6. Расчет эффективности (упрощенно)
+        double efficiency = Math.min(95.0, 80.0 + (purity * 15) - (Math.abs(machNumber - 2) * 5));
+
+        return new OxygenLanceResult(velocity, force, efficiency, machNumber, reynoldsNumber);
+    }
+
+    /**
+     * Генерация рекомендаций для кислородной фурмы
+     */
+    public String buildOxygenLanceNotes(OxygenLanceInput input, OxygenLanceResult result) {
+        StringBuilder notes = new StringBuilder();
+
+        if (result.machNumber() < 1) {
+            notes.append("Внимание: Режим дозвуковой. Рекомендуется увеличить давление.\n");
+        } else if (result.machNumber() > 3) {
+            notes.append("Внимание: Слишком высокое число Маха. Возможны потери энергии.\n");
+        } else {
+            notes.append("Режим течения оптимальный.\n");
+        }
+
+        if (result.efficiency() < 85) {
+            notes.append("Эффективность ниже оптимальной. Проверьте чистоту кислорода.\n");
+        }
+
+        if (result.reynoldsNumber() > 4000) {
+            notes.append("Турбулентный режим течения - хорошее перемешивание.\n");
+        } else {
+            notes.append("Ламинарный режим течения.\n");
+        }
+
+        // Расчет рекомендуемого давления
+        double recommendedPressure = input.pressure() * 1.1;
+        notes.append(String.format("Рекомендуемое давление: %.1f МПа\n", recommendedPressure));
+
+        return notes.toString();
+    }
+
+    /**
+     * Расчет параметров сопла Лаваля
+     * Основные формулы для сопла Лаваля
+     *
+     * @param nozzle объект с входными параметрами
+     * @return заполненный объект с результатами расчетов
+     */
+    public LavalNozzle calculateLavalNozzle(LavalNozzle nozzle) {
+        LavalNozzleInput input = LavalNozzleInput.from(nozzle);
+        LavalNozzleResult result = computeLavalNozzle(input);
+        result.applyTo(nozzle);
+
+        // Формирование рекомендаций
+        nozzle.setNotes(buildLavalNozzleNotes(input, result));
+
+        return nozzle;
+    }
+
+    /**
+     * Расчетное ядро для сопла Лаваля: без побочных эффектов,
+     * примечания не формируются (см. buildLavalNozzleNotes)
+     */
+    public LavalNozzleResult computeLavalNozzle(LavalNozzleInput input) {
+        // Извлечение входных параметров
+        double P0 = input.inletPressure() * STANDARD_PRESSURE; // Преобразуем атм в Па
+        double Pe = input.outletPressure() * STANDARD_PRESSURE;
+        double T0 = input.temperature(); // Уже в K
+        double m_dot = input.massFlowRate();
+        double epsilon = input.expansionRatio();
+
+        // Свойства газа: все коэффициенты, зависящие только от γ и M, вычислены заранее
+        GasProperties gas = input.gas();
+        double sqrtT0 = Math.sqrt(T0);
+
+        // 1. Расчет площади критического сечения из уравнения расхода
+        // ṁ = (A* * P0) / √(T0) * √(γ/R) * (2/(γ+1))^((γ+1)/(2*(γ-1)))
+        double A_star = (m_dot * sqrtT0) / (P0 * gas.getMassFlowFactor());
+
+        // 2. Расчет площади выходного сечения
+        double A_exit = A_star * epsilon;
+
+        // 3. Число Маха на выходе - из соотношения площадей A/A* = ε на выбранной ветви
+        // (дозвуковой или сверхзвуковой), по изоэнтропическим таблицам газа
+        IsentropicTable table = gas.getIsentropicTable();
+        double machNumberExit = table.machFromAreaRatio(epsilon, input.supersonic());
+
+        // 4. Параметры на срезе сопла: Te = T0 * T/T0(M), pe = P0 * p/p0(M), Ve = M * √(γ * R_specific * Te)
+        double exitTemperature = T0 * table.temperatureRatio(machNumberExit);
+        // Дозвуковая струя выходит с давлением среды, поэтому нерасчетной составляющей тяги у нее нет
+        double exitPressure = input.supersonic() ? P0 * table.pressureRatio(machNumberExit) : Pe;
+        double exitVelocity = machNumberExit * Math.sqrt(gas.getSoundFactor() * exitTemperature);
+
+        // 5. Расчет тяги
+        // F = ṁ * Ve + (pe - Pe) * Ae, где Pe - давление среды на выходе (входной параметр)
+        double thrust = m_dot * exitVelocity + (exitPressure - Pe) * A_exit;
+
+        // 6. Расчет эффективности: отношение к тяге расчетного сопла,
+        // расширяющего газ ровно до Pe: F_ид = ṁ * √(2 * (γ/(γ-1)) * R_specific * T0 * [1 - (Pe/P0)^((γ-1)/γ)])
+        double idealVelocity = Math.sqrt(gas.getVelocityFactor() * T0 *
+                (1 - Math.pow(Pe / P0, gas.getGammaExponent())));
+        double efficiency = thrust / (m_dot * idealVelocity) * 100;
+
+        // Площади переводим из м² в мм²
+        return new LavalNozzleResult(A_star * 1e6, A_exit * 1e6, exitVelocity,
+                machNumberExit, thrust, efficiency);
+    }
+
+    /**
+     * Генерация рекомендаций для сопла Лаваля
+     */
+    public String buildLavalNozzleNotes(LavalNozzleInput input, LavalNozzleResult result) {
+        StringBuilder notes = new StringBuilder();
+
+        if (input.supersonic() && result.machNumber() < 1) {
+            notes.append("Внимание: Режим дозвуковой при ожидаемом сверхзвуковом. ");
+            notes.append("Проверьте степень расширения.\n");
+        }
+
+        if (!input.supersonic() && result.machNumber() > 0.8) {
+            notes.append("Внимание: Приближение к скорости звука. ");
+            notes.append("Рассмотрите переход на сверхзвуковое сопло.\n");
+        }
+
+        if (result.efficiency() < 90) {
+            notes.append("Эффективность ниже оптимальной. ");
+            notes.append("Рекомендуется оптимизировать степень расширения.\n");
+        }
+
+        // Расчет оптимальной степени расширения: сопло, на срезе которого давление равно Pe
+        double optimalEpsilon = getOptimalExpansionRatio(input);
+        notes.append(String.format("Оптимальная степень расширения: %.2f\n", optimalEpsilon));
+
+        if (Math.abs(input.expansionRatio() - optimalEpsilon) > 2) {
+            notes.append("Текущая степень расширения далека от оптимальной.\n");
+        }
+
+        return notes.toString();
+    }
+
+    /**
+     * Степень расширения расчетного сопла (давление на срезе равно давлению на выходе Pe):
+     * M = √(2/(γ-1) * [(P0/Pe)^((γ-1)/γ) - 1]),  ε = A/A*(M)
+     */
+    public double getOptimalExpansionRatio(LavalNozzleInput input) {
+        GasProperties gas = input.gas();
+        double pressureTerm = Math.pow(input.inletPressure() / input.outletPressure(), gas.getGammaExponent());
+        double mach = Math.sqrt(2 / (gas.getGamma() - 1) * (pressureTerm - 1));
+        return gas.getIsentropicTable().areaRatio(mach);
+    }
+
+    /**
+     * Канонический хэш входных данных фурмы (ключ хранилища результатов)
+     */
+    public String resultHash(OxygenLanceInput input) {
+        Map<String, Double> inputs = new HashMap<>();
+        inputs.put("oxygenFlowRate", input.oxygenFlowRate());
+        inputs.put("pressure", input.pressure());
+        inputs.put("nozzleDiameter", input.nozzleDiameter());
+        inputs.put("temperature", input.temperature());
+        inputs.put("oxygenPurity", input.oxygenPurity());
+        return ResultHasher.hash("OXYGEN_LANCE", MODEL_VERSION, inputs);
+    }
+
+    /**
+     * Канонический хэш входных данных сопла (ключ хранилища результатов).
+     * Газ учитывается своими свойствами, а не названием.
+     */
+    public String resultHash(LavalNozzleInput input) {
+        Map<String, Double> inputs = new HashMap<>();
+        inputs.put("inletPressure", input.inletPressure());
+        inputs.put("outletPressure", input.outletPressure());
+        inputs.put("temperature", input.temperature());
+        inputs.put("massFlowRate", input.massFlowRate());
+        inputs.put("expansionRatio", input.expansionRatio());
+        inputs.put("isSupersonic", input.supersonic() ? 1.0 : 0.0);
+        inputs.put("gasGamma", input.gas().getGamma());
+        inputs.put("gasMolarMass", input.gas().getMolarMass());
+        return ResultHasher.hash("LAVAL_NOZZLE", MODEL_VERSION, inputs);
+    }
+
+    /**
+     * Пакетный расчет кислородных фурм
+     *
+     * @param batch    столбцы входных параметров; результаты записываются в столбцы результатов
+     * @param parallel разрешить разбиение больших пакетов на части по ядрам процессора
+     */
+    public void calculateOxygenLanceBatch(OxygenLanceBatch batch, boolean parallel) {
+        int size = batch.size();
+        if (parallel && size >= PARALLEL_BATCH_THRESHOLD) {
+            int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * PARALLEL_CHUNK_SIZE;
+                oxygenLanceKernel(batch, from, Math.min(size, from + PARALLEL_CHUNK_SIZE));
+            });
+        } else {
+            oxygenLanceKernel(batch, 0, size);
+        }
+    }
+
+    /**
+     * Расчетный цикл фурмы по диапазону [from, to).
+     * Те же формулы, что и в computeOxygenLance, но без создания объектов:
+     * все величины, не зависящие от точки, вынесены в константы класса.
+     */
+    private static void oxygenLanceKernel(OxygenLanceBatch batch, int from, int to) {
+        double[] pressure = batch.getPressure();
+        double[] diameter = batch.getNozzleDiameter();
+        double[] temperature = batch.getTemperature();
+        double[] purity = batch.getOxygenPurity();
+        double[] velocityOut = batch.getExitVelocity();
+        double[] forceOut = batch.getJetForce();
+        double[] efficiencyOut = batch.getEfficiency();
+        double[] machOut = batch.getMachNumber();
+        double[] reynoldsOut = batch.getReynoldsNumber();
+
+        for (int i = from; i < to; i++) {
+            double T = temperature[i] + 273.15;
+            double purityFraction = purity[i] / 100;
+            double d = diameter[i] / 1000;
+
+            double velocity = Math.sqrt(VELOCITY_FACTOR_O2 * T) * purityFraction;
+            double density = pressure[i] * LANCE_DENSITY_FACTOR / T;
+            // Число Маха не зависит от температуры: V/a = √(VELOCITY_FACTOR/SOUND_FACTOR) * чистота
+            double machNumber = LANCE_MACH_FACTOR * purityFraction;
+
+            velocityOut[i] = velocity;
+            forceOut[i] = density * velocity * velocity * (PI / 4) * d * d;
+            machOut[i] = machNumber;
+            reynoldsOut[i] = density * velocity * d / VISCOSITY_O2;
+            efficiencyOut[i] = Math.min(95.0, 80.0 + purityFraction * 15 - Math.abs(machNumber - 2) * 5);
+        }
+    }
+
+    /**
+     * Пакетный расчет сопел Лаваля (все конфигурации пакета - для одного газа)
+     *
+     * @param batch    столбцы входных параметров; результаты записываются в столбцы результатов
+     * @param parallel разрешить разбиение больших пакетов на части по ядрам процессора
+     */
+    public void calculateLavalNozzleBatch(LavalNozzleBatch batch, boolean parallel) {
+        int size = batch.size();
+        if (parallel && size >= PARALLEL_BATCH_THRESHOLD) {
+            int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * PARALLEL_CHUNK_SIZE;
+                lavalNozzleKernel(batch, from, Math.min(size, from + PARALLEL_CHUNK_SIZE));
+            });
+        } else {
+            lavalNozzleKernel(batch, 0, size);
+        }
+    }
+
+    /**
+     * Расчетный цикл сопла Лаваля по диапазону [from, to).
+     * Формулы те же, что и в computeLavalNozzle; число Маха на выходе
+     * берется из изоэнтропической таблицы газа, общей для всего пакета.
+     */
+    private static void lavalNozzleKernel(LavalNozzleBatch batch, int from, int to) {
+        // Коэффициенты газа одни на весь пакет
+        GasProperties gas = batch.getGas();
+        IsentropicTable table = gas.getIsentropicTable();
+        double gammaExponent = gas.getGammaExponent();
+        double velocityFactor = gas.getVelocityFactor();
+        double soundFactor = gas.getSoundFactor();
+        double massFlowFactor = gas.getMassFlowFactor();
+
+        double[] inletPressure = batch.getInletPressure();
+        double[] outletPressure = batch.getOutletPressure();
+        double[] temperature = batch.getTemperature();
+        double[] massFlowRate = batch.getMassFlowRate();
+        double[] expansionRatio = batch.getExpansionRatio();
+        boolean[] supersonic = batch.getSupersonic();
+        double[] throatOut = batch.getThroatArea();
+        double[] exitAreaOut = batch.getExitArea();
+        double[] velocityOut = batch.getExitVelocity();
+        double[] machOut = batch.getMachNumber();
+        double[] thrustOut = batch.getThrust();
+        double[] efficiencyOut = batch.getEfficiency();
+
+        for (int i = from; i < to; i++) {
+            double P0 = inletPressure[i] * STANDARD_PRESSURE;
+            double Pe = outletPressure[i] * STANDARD_PRESSURE;
+            double T0 = temperature[i];
+            double mDot = massFlowRate[i];
+            double sqrtT0 = Math.sqrt(T0);
+
+            double throatArea = mDot * sqrtT0 / (P0 * massFlowFactor);
+            double exitArea = throatArea * expansionRatio[i];
+
+            double mach = table.machFromAreaRatio(expansionRatio[i], supersonic[i]);
+            double exitTemperature = T0 * table.temperatureRatio(mach);
+            double exitPressure = supersonic[i] ? P0 * table.pressureRatio(mach) : Pe;
+            double velocity = mach * Math.sqrt(soundFactor * exitTemperature);
+
+            double thrust = mDot * velocity + (exitPressure - Pe) * exitArea;
+            double idealVelocity = Math.sqrt(velocityFactor * T0 *
+                    (1 - Math.pow(outletPressure[i] / inletPressure[i], gammaExponent)));
+
+            throatOut[i] = throatArea * 1e6;
+            exitAreaOut[i] = exitArea * 1e6;
+            velocityOut[i] = velocity;
+            machOut[i] = mach;
+            thrustOut[i] = thrust;
+            efficiencyOut[i] = thrust / (mDot * idealVelocity) * 100;
+        }
+    }
+
+    /**
+     * Преобразование OxygenLance в CalculationResult для сохранения в БД
+     */
+    public CalculationResult convertToCalculationResult(OxygenLance lance, String title) {
+        CalculationResult result = new CalculationResult("OXYGEN_LANCE", title);
+        result.setUserId(lance.getUserId());
+
+        // Добавление входных параметров
+        result.addInputParameter("oxygenFlowRate", lance.getOxygenFlowRate());
+        result.addInputParameter("pressure", lance.getPressure());
+        result.addInputParameter("nozzleDiameter", lance.getNozzleDiameter());
+        result.addInputParameter("temperature", lance.getTemperature());
+        result.addInputParameter("oxygenPurity", lance.getOxygenPurity());
+
+        // Добавление результатов
+        result.addOutputResult("exitVelocity", lance.getExitVelocity());
+        result.addOutputResult("jetForce", lance.getJetForce());
+        result.addOutputResult("efficiency", lance.getEfficiency());
+        result.addOutputResult("machNumber", lance.getMachNumber());
+        result.addOutputResult("reynoldsNumber", lance.getReynoldsNumber());
+
+        // Ссылку на общие результаты получают только результаты текущей версии модели
+        // (а не, например, загруженные из старого файла)
+        OxygenLanceInput input = OxygenLanceInput.from(lance);
+        if (computeOxygenLance(input).equals(OxygenLanceResult.fromOutputs(result.getOutputResults()))) {
+            result.setResultHash(resultHash(input));
+        }
+
+        result.setNotes(lance.getNotes());
+        result.setCalculationDate(lance.getCalculationDate());
+
+        return result;
+    }
+
+    /**
+     * Преобразование LavalNozzle в CalculationResult для сохранения в БД
+     */
+    public CalculationResult convertToCalculationResult(LavalNozzle nozzle, String title) {
+        CalculationResult result = new CalculationResult("LAVAL_NOZZLE", title);
+        result.setUserId(nozzle.getUserId());
+
+        // Добавление входных параметров
+        result.addInputParameter("inletPressure", nozzle.getInletPressure());
+        result.addInputParameter("outletPressure", nozzle.getOutletPressure());
+        result.addInputParameter("temperature", nozzle.getTemperature());
+        result.addInputParameter("massFlowRate", nozzle.getMassFlowRate());
+        result.addInputParameter("expansionRatio", nozzle.getExpansionRatio());
+        result.addInputParameter("isSupersonic", nozzle.isSupersonic() ? 1.0 : 0.0);
+
+        // Добавление результатов
+        result.addOutputResult("throatArea", nozzle.getThroatArea());
+        result.addOutputResult("exitArea", nozzle.getExitArea());
+        result.addOutputResult("exitVelocity", nozzle.getExitVelocity());
+        result.addOutputResult("machNumber", nozzle.getMachNumber());
+        result.addOutputResult("thrust", nozzle.getThrust());
+        result.addOutputResult("efficiency", nozzle.getEfficiency());
+
+        LavalNozzleInput input = LavalNozzleInput.from(nozzle);
+        if (computeLavalNozzle(input).equals(LavalNozzleResult.fromOutputs(result.getOutputResults()))) {
+            result.setResultHash(resultHash(input));
+        }
+
+        result.setNotes(nozzle.getNotes());
+        result.setCalculationDate(nozzle.getCalculationDate());
+
+        return result;
+    }
+
+    /**
+     * Валидация входных параметров для кислородной фурмы
+     */
+    public String validateOxygenLanceInput(OxygenLance lance) {
+        if (lance.getOxygenFlowRate() <= 0) {
+            return "Расход кислорода должен быть положительным";
+        }
+        if (lance.getPressure() <= 0) {
+            return "Давление должно быть положительным";
+        }
+        if (lance.getNozzleDiameter() <= 0) {
+            return "Диаметр сопла должен быть положительным";
+        }
+        if (lance.getTemperature() < -273) {
+            return "Температура не может быть ниже абсолютного нуля";
+        }
+        if (lance.getOxygenPurity() < 0 || lance.getOxygenPurity() > 100) {
+            return "Чистота кислорода должна быть в диапазоне 0-100%";
+        }
+        return null; // Все корректно
+    }
+
+    /**
+     * Валидация входных параметров для сопла Лаваля
+     */
+    public String validateLavalNozzleInput(LavalNozzle nozzle) {
+        if (nozzle.getInletPressure() <= 0) {
+            return "Давление на входе должно быть положительным";
+        }
+        if (nozzle.getOutletPressure() <= 0) {
+            return "Давление на выходе должно быть положительным";
+        }
+        if (nozzle.getInletPressure() <= nozzle.getOutletPressure()) {
+            return "Давление на входе должно быть больше давления на выходе";
+        }
+        if (nozzle.getTemperature() <= 0) {
+            return "Температура должна быть положительной";
+        }
+        if (nozzle.getMassFlowRate() <= 0) {
+            return "Массовый расход должен быть положительным";
+        }
+        if (nozzle.getExpansionRatio() < 1) {
+            return "Степень расширения должна быть не менее 1";
+        }
+        return null; // Все корректно
+    }
 }
\ No newline at end of file
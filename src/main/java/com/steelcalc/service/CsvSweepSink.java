@@ -0,0 +1,59 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.SweepChunk;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запись результатов параметрического исследования в CSV.
+ * Первый столбец - номер точки сетки: порции приходят не по порядку,
+ * по нему строки можно отсортировать. Writer закрывает вызывающий код.
+ */
+public class CsvSweepSink implements SweepSink {
+    private final Writer writer;
+    private CSVPrinter printer;
+
+    public CsvSweepSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void start(String calculationType, List<String> inputNames, List<String> outputNames,
+                      long totalPoints) throws IOException {
+        List<String> header = new ArrayList<>();
+        header.add("index");
+        header.addAll(inputNames);
+        header.addAll(outputNames);
+        printer = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(header.toArray(new String[0])));
+    }
+
+    @Override
+    public void accept(SweepChunk chunk) throws IOException {
+        int inputCount = chunk.getInputNames().size();
+        int outputCount = chunk.getOutputNames().size();
+        Object[] record = new Object[1 + inputCount + outputCount];
+
+        for (int row = 0; row < chunk.size(); row++) {
+            record[0] = chunk.getFirstIndex() + row;
+            for (int column = 0; column < inputCount; column++) {
+                record[1 + column] = chunk.getInput(column, row);
+            }
+            for (int column = 0; column < outputCount; column++) {
+                record[1 + inputCount + column] = chunk.getOutput(column, row);
+            }
+            printer.printRecord(record);
+        }
+    }
+
+    @Override
+    public void finish(boolean cancelled) throws IOException {
+        if (printer != null) {
+            printer.flush();
+        }
+    }
+}
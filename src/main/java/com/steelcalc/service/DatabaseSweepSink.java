@@ -0,0 +1,48 @@
+package com.steelcalc.service;
+
+import com.steelcalc.dao.CalculationDao;
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.model.SweepChunk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сохранение точек параметрического исследования в историю расчетов.
+ * Каждая порция записывается одной транзакцией через CalculationDao.saveCalculations,
+ * расчеты получают название вида "<название> #<номер точки>".
+ */
+public class DatabaseSweepSink implements SweepSink {
+    private final CalculationDao calculationDao;
+    private final int userId;
+    private final String title;
+    private int savedCount;
+
+    public DatabaseSweepSink(CalculationDao calculationDao, int userId, String title) {
+        this.calculationDao = calculationDao;
+        this.userId = userId;
+        this.title = title;
+    }
+
+    @Override
+    public void accept(SweepChunk chunk) throws IOException {
+        List<CalculationResult> calculations = new ArrayList<>(chunk.size());
+        for (int row = 0; row < chunk.size(); row++) {
+            CalculationResult result = new CalculationResult(chunk.getCalculationType(),
+                    title + " #" + (chunk.getFirstIndex() + row + 1));
+            result.setUserId(userId);
+            result.setInputParameters(chunk.getInputMap(row));
+            result.setOutputResults(chunk.getOutputMap(row));
+            calculations.add(result);
+        }
+
+        List<Integer> ids = calculationDao.saveCalculations(calculations);
+        if (ids.size() != calculations.size()) {
+            throw new IOException("Не удалось сохранить результаты исследования в БД");
+        }
+        savedCount += ids.size();
+    }
+
+    public int getSavedCount() { return savedCount; }
+}
@@ -0,0 +1,250 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.LanceDesign;
+import com.steelcalc.model.LanceOptimum;
+import com.steelcalc.model.OxygenLanceBatch;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.OxygenLanceResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Подбор конструкции кислородной фурмы: диаметр сопла, давление и расход кислорода,
+ * при которых сила удара струи равна целевой, число Маха лежит в заданном диапазоне,
+ * а эффективность максимальна.
+ *
+ * Поиск - метод перекрестной энтропии: каждое поколение - популяция из POPULATION
+ * вариантов, выбранных из нормального распределения в нормированном пространстве
+ * параметров. Популяция считается одним пакетом (calculateOxygenLanceBatch,
+ * параллельно по ядрам), лучшие ELITE_FRACTION вариантов задают распределение
+ * следующего поколения. Поиск идет, пока не исчерпано время timeBudgetMillis
+ * или распределение не сошлось.
+ *
+ * Варианты сравниваются так: меньшее суммарное нарушение ограничений лучше,
+ * при равном нарушении - большая эффективность, затем меньший расход кислорода.
+ * Если ограничения недостижимы, возвращаются варианты с наименьшим нарушением
+ * (feasible = false). Генератор случайных чисел инициализируется seed,
+ * поэтому при одинаковом числе поколений результат повторяется.
+ */
+public class LanceOptimizer {
+
+    public static final double DEFAULT_MIN_MACH = 1.8;
+    public static final double DEFAULT_MAX_MACH = 2.2;
+    public static final double DEFAULT_FORCE_TOLERANCE = 0.02;     // доля от целевой силы
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    public static final int DEFAULT_RESULT_COUNT = 10;
+    public static final long DEFAULT_SEED = 20240501L;
+
+    // Популяция не меньше порога параллельного пакетного расчета CalculationService
+    private static final int POPULATION = 16_384;
+    private static final double ELITE_FRACTION = 0.02;
+    private static final int MAX_GENERATIONS = 60;
+    // Сглаживание обновления распределения и порог сходимости (в нормированных координатах)
+    private static final double SMOOTHING = 0.7;
+    private static final double INITIAL_SPREAD = 0.3;
+    private static final double MIN_SPREAD = 1e-4;
+
+    // Порядок нормированных координат
+    private static final int DIAMETER = 0;
+    private static final int PRESSURE = 1;
+    private static final int FLOW_RATE = 2;
+    private static final int DIMENSIONS = 3;
+
+    private final CalculationService calculationService;
+
+    private double targetJetForce;
+    private double forceTolerance = DEFAULT_FORCE_TOLERANCE;
+    private double minMach = DEFAULT_MIN_MACH;
+    private double maxMach = DEFAULT_MAX_MACH;
+    // Границы поиска: диаметр, мм; давление, МПа; расход, м³/ч
+    private final double[] lower = {10, 0.4, 500};
+    private final double[] upper = {80, 2.0, 5000};
+    private long timeBudgetMillis = DEFAULT_TIME_BUDGET_MILLIS;
+    private int resultCount = DEFAULT_RESULT_COUNT;
+    private long seed = DEFAULT_SEED;
+
+    public LanceOptimizer(CalculationService calculationService, double targetJetForce) {
+        this.calculationService = calculationService;
+        setTargetJetForce(targetJetForce);
+    }
+
+    public double getTargetJetForce() { return targetJetForce; }
+    public void setTargetJetForce(double targetJetForce) {
+        if (!(targetJetForce > 0)) {
+            throw new IllegalArgumentException("Целевая сила удара струи должна быть положительной");
+        }
+        this.targetJetForce = targetJetForce;
+    }
+
+    public double getForceTolerance() { return forceTolerance; }
+    public void setForceTolerance(double forceTolerance) { this.forceTolerance = Math.max(0, forceTolerance); }
+
+    public void setMachRange(double min, double max) {
+        if (max < min) {
+            throw new IllegalArgumentException("Диапазон числа Маха не может быть пустым");
+        }
+        this.minMach = min;
+        this.maxMach = max;
+    }
+
+    public void setNozzleDiameterRange(double min, double max) { setRange(DIAMETER, min, max, "диаметра сопла"); }
+    public void setPressureRange(double min, double max) { setRange(PRESSURE, min, max, "давления"); }
+    public void setFlowRateRange(double min, double max) { setRange(FLOW_RATE, min, max, "расхода кислорода"); }
+
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public void setTimeBudgetMillis(long timeBudgetMillis) { this.timeBudgetMillis = Math.max(1, timeBudgetMillis); }
+
+    public int getResultCount() { return resultCount; }
+    public void setResultCount(int resultCount) { this.resultCount = Math.max(1, resultCount); }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Поиск лучших вариантов. Температура и чистота кислорода берутся из base,
+     * диаметр, давление и расход подбираются в заданных границах.
+     */
+    public LanceOptimum optimize(OxygenLanceInput base) {
+        long startTime = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+        Comparator<LanceDesign> ranking = rankingComparator();
+
+        double[] mean = {0.5, 0.5, 0.5};
+        double[] spread = {INITIAL_SPREAD, INITIAL_SPREAD, INITIAL_SPREAD};
+        int eliteSize = Math.max(2, (int) (POPULATION * ELITE_FRACTION));
+
+        OxygenLanceBatch batch = new OxygenLanceBatch(POPULATION);
+        double[][] normalized = new double[DIMENSIONS][POPULATION];
+        List<LanceDesign> archive = new ArrayList<>();
+        boolean machWindowReached = false;
+        long evaluations = 0;
+        int generations = 0;
+
+        while (generations < MAX_GENERATIONS) {
+            // 1. Новое поколение из текущего распределения
+            for (int i = 0; i < POPULATION; i++) {
+                for (int k = 0; k < DIMENSIONS; k++) {
+                    normalized[k][i] = clamp(mean[k] + spread[k] * random.nextGaussian());
+                }
+                batch.getNozzleDiameter()[i] = denormalize(DIAMETER, normalized[DIAMETER][i]);
+                batch.getPressure()[i] = denormalize(PRESSURE, normalized[PRESSURE][i]);
+                batch.getOxygenFlowRate()[i] = denormalize(FLOW_RATE, normalized[FLOW_RATE][i]);
+                batch.getTemperature()[i] = base.temperature();
+                batch.getOxygenPurity()[i] = base.oxygenPurity();
+            }
+
+            // 2. Расчет всей популяции одним пакетом
+            calculationService.calculateOxygenLanceBatch(batch, true);
+            evaluations += POPULATION;
+            generations++;
+
+            // 3. Отбор лучших вариантов поколения
+            List<Integer> order = new ArrayList<>(POPULATION);
+            LanceDesign[] designs = new LanceDesign[POPULATION];
+            for (int i = 0; i < POPULATION; i++) {
+                designs[i] = toDesign(batch.getInput(i), batch.getResult(i));
+                machWindowReached |= designs[i].machViolation() == 0;
+                order.add(i);
+            }
+            order.sort((a, b) -> ranking.compare(designs[a], designs[b]));
+
+            for (int e = 0; e < eliteSize; e++) {
+                archive.add(designs[order.get(e)]);
+            }
+            archive = distinctBest(archive, ranking);
+
+            // 4. Новое распределение по элите поколения
+            double maxSpread = 0;
+            for (int k = 0; k < DIMENSIONS; k++) {
+                double sum = 0;
+                for (int e = 0; e < eliteSize; e++) {
+                    sum += normalized[k][order.get(e)];
+                }
+                double eliteMean = sum / eliteSize;
+                double squares = 0;
+                for (int e = 0; e < eliteSize; e++) {
+                    double deviation = normalized[k][order.get(e)] - eliteMean;
+                    squares += deviation * deviation;
+                }
+                mean[k] = SMOOTHING * eliteMean + (1 - SMOOTHING) * mean[k];
+                spread[k] = SMOOTHING * Math.sqrt(squares / eliteSize) + (1 - SMOOTHING) * spread[k];
+                maxSpread = Math.max(maxSpread, spread[k]);
+            }
+
+            if (maxSpread < MIN_SPREAD || System.currentTimeMillis() - startTime >= timeBudgetMillis) {
+                break;
+            }
+        }
+
+        return new LanceOptimum(List.copyOf(archive), generations, evaluations,
+                System.currentTimeMillis() - startTime, machWindowReached);
+    }
+
+    private LanceDesign toDesign(OxygenLanceInput input, OxygenLanceResult result) {
+        double forceError = Math.abs(result.jetForce() - targetJetForce) / targetJetForce;
+        double machViolation = Math.max(0, Math.max(minMach - result.machNumber(), result.machNumber() - maxMach));
+        if (Double.isNaN(forceError) || Double.isNaN(machViolation)) {
+            forceError = Double.POSITIVE_INFINITY;
+            machViolation = Double.POSITIVE_INFINITY;
+        }
+        return new LanceDesign(input, result, forceError, machViolation,
+                forceError <= forceTolerance && machViolation == 0);
+    }
+
+    /**
+     * Суммарное нарушение: отклонение силы сверх допуска (доля) и выход числа Маха за диапазон
+     */
+    private double violation(LanceDesign design) {
+        return Math.max(0, design.forceError() - forceTolerance) + design.machViolation();
+    }
+
+    private Comparator<LanceDesign> rankingComparator() {
+        return Comparator.comparingDouble(this::violation)
+                .thenComparing(Comparator.comparingDouble((LanceDesign d) -> d.result().efficiency()).reversed())
+                .thenComparingDouble(d -> d.input().oxygenFlowRate())
+                .thenComparingDouble(LanceDesign::forceError);
+    }
+
+    /**
+     * resultCount лучших вариантов без практически одинаковых
+     * (диаметр до 0.1 мм, давление до 0.01 МПа, расход до 1 м³/ч)
+     */
+    private List<LanceDesign> distinctBest(List<LanceDesign> designs, Comparator<LanceDesign> ranking) {
+        designs.sort(ranking);
+        List<LanceDesign> best = new ArrayList<>(resultCount);
+        Set<List<Long>> seen = new HashSet<>();
+        for (LanceDesign design : designs) {
+            OxygenLanceInput input = design.input();
+            List<Long> key = List.of(Math.round(input.nozzleDiameter() * 10),
+                    Math.round(input.pressure() * 100), Math.round(input.oxygenFlowRate()));
+            if (seen.add(key)) {
+                best.add(design);
+                if (best.size() == resultCount) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void setRange(int dimension, double min, double max, String name) {
+        if (!(min > 0) || max < min) {
+            throw new IllegalArgumentException("Диапазон " + name + " должен быть положительным и не пустым");
+        }
+        lower[dimension] = min;
+        upper[dimension] = max;
+    }
+
+    private double denormalize(int dimension, double value) {
+        return lower[dimension] + (upper[dimension] - lower[dimension]) * value;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
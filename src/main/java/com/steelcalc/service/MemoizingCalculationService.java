@@ -0,0 +1,145 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.LavalNozzleResult;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.OxygenLanceResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CalculationService с запоминанием результатов расчетного ядра.
+ *
+ * Повторный расчет той же конфигурации (перемещение слайдера, повторное нажатие
+ * "Рассчитать", открытие сохраненного расчета) отдается из ограниченного LRU-кэша.
+ * Методы calculate* работают через computeOxygenLance/computeLavalNozzle,
+ * поэтому тоже пользуются кэшем. Пакетные расчеты кэш не используют.
+ *
+ * Ключ - входные значения, округленные с относительной точностью tolerance:
+ * конфигурации, отличающиеся меньше чем на tolerance, считаются одинаковыми
+ * и получают один и тот же результат. При tolerance = 0 сравнение точное.
+ *
+ * Результаты - неизменяемые записи, поэтому сервис безопасен для параллельных вызовов.
+ */
+public class MemoizingCalculationService extends CalculationService {
+
+    // Параметры можно переопределить: -Dsteelcalc.memo.maxEntries=50000 -Dsteelcalc.memo.tolerance=1e-6
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+    private static final int CONCURRENCY = 16;
+
+    private static final int TYPE_OXYGEN_LANCE = 1;
+    private static final int TYPE_LAVAL_NOZZLE = 2;
+
+    private static MemoizingCalculationService shared;
+
+    private final ResultMemoCache<Record> cache;
+    private final double tolerance;
+
+    public MemoizingCalculationService(int maxEntries, double tolerance) {
+        if (tolerance < 0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Точность квантования не может быть отрицательной");
+        }
+        this.cache = new ResultMemoCache<>(maxEntries, CONCURRENCY);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Общий экземпляр приложения (настройки берутся из системных свойств)
+     */
+    public static synchronized MemoizingCalculationService getShared() {
+        if (shared == null) {
+            shared = new MemoizingCalculationService(
+                    Integer.getInteger("steelcalc.memo.maxEntries", DEFAULT_MAX_ENTRIES),
+                    Double.parseDouble(System.getProperty("steelcalc.memo.tolerance",
+                            String.valueOf(DEFAULT_TOLERANCE))));
+        }
+        return shared;
+    }
+
+    @Override
+    public OxygenLanceResult computeOxygenLance(OxygenLanceInput input) {
+        ResultMemoCache.Key key = new ResultMemoCache.Key(TYPE_OXYGEN_LANCE, new long[]{
+                quantize(input.oxygenFlowRate()),
+                quantize(input.pressure()),
+                quantize(input.nozzleDiameter()),
+                quantize(input.temperature()),
+                quantize(input.oxygenPurity())
+        });
+
+        OxygenLanceResult cached = (OxygenLanceResult) cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        OxygenLanceResult result = super.computeOxygenLance(input);
+        cache.put(key, result, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public LavalNozzleResult computeLavalNozzle(LavalNozzleInput input) {
+        // Газ входит в ключ своими свойствами: имя на результат не влияет
+        GasProperties gas = input.gas();
+        ResultMemoCache.Key key = new ResultMemoCache.Key(TYPE_LAVAL_NOZZLE, new long[]{
+                Double.doubleToLongBits(gas.getGamma()),
+                Double.doubleToLongBits(gas.getMolarMass()),
+                quantize(input.inletPressure()),
+                quantize(input.outletPressure()),
+                quantize(input.temperature()),
+                quantize(input.massFlowRate()),
+                quantize(input.expansionRatio()),
+                input.supersonic() ? 1 : 0
+        });
+
+        LavalNozzleResult cached = (LavalNozzleResult) cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        LavalNozzleResult result = super.computeLavalNozzle(input);
+        cache.put(key, result, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Счетчики кэша: hits, misses, hitRatio (доля попаданий, 0..1), evictions,
+     * size и maxEntries (записей в кэше и лимит), savedMillis (время расчетов,
+     * которые не пришлось выполнять), tolerance
+     */
+    public Map<String, Object> getCacheStatistics() {
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.put("evictions", cache.getEvictionCount());
+        stats.put("size", cache.size());
+        stats.put("maxEntries", cache.getMaxEntries());
+        stats.put("savedMillis", cache.getSavedNanos() / 1e6);
+        stats.put("tolerance", tolerance);
+        return stats;
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Округление значения до шага tolerance * 2^e, где 2^e - порядок значения
+     * (относительная точность). Возвращает двоичное представление результата.
+     */
+    private long quantize(double value) {
+        if (tolerance == 0 || value == 0 || !Double.isFinite(value)) {
+            return Double.doubleToLongBits(value + 0.0); // -0.0 и 0.0 - один ключ
+        }
+        double step = tolerance * Math.scalb(1.0, Math.getExponent(value));
+        return Double.doubleToLongBits(Math.rint(value / step) * step);
+    }
+}
@@ -0,0 +1,322 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.LavalNozzleResult;
+import com.steelcalc.model.NozzleOptimum;
+import com.steelcalc.model.OptimizationStep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Подбор степени расширения сопла Лаваля (и, при необходимости, давления на входе),
+ * при которой тяга или эффективность максимальны с учетом ограничений.
+ *
+ * Поиск по каждому параметру - метод Брента (золотое сечение с параболической
+ * интерполяцией) в логарифмических координатах. Диапазон делится на starts
+ * поддиапазонов, в каждом поиск запускается независимо (мультистарт), запуски
+ * выполняются параллельно в общем пуле ForkJoin; лучший из них - ответ.
+ * Если оптимизируется и давление, внешний поиск идет по давлению, а для
+ * каждого давления внутренний - по степени расширения.
+ *
+ * Ограничения (максимальная площадь выходного сечения, минимальная эффективность)
+ * учитываются штрафом, пропорциональным относительному нарушению.
+ * Расчеты выполняются чистым ядром CalculationService.computeLavalNozzle.
+ */
+public class NozzleOptimizer {
+
+    public enum Objective { THRUST, EFFICIENCY }
+
+    // Диапазон степени расширения по умолчанию совпадает с диапазоном слайдера
+    public static final double DEFAULT_MIN_EXPANSION_RATIO = 1.0;
+    public static final double DEFAULT_MAX_EXPANSION_RATIO = 20.0;
+
+    // Относительная точность поиска (в логарифмических координатах)
+    private static final double TOLERANCE = 1e-8;
+    private static final double TINY = 1e-12;
+    private static final int MAX_ITERATIONS = 200;
+    // Число поддиапазонов степени расширения во внутреннем поиске при оптимизации давления
+    private static final int INNER_STARTS = 4;
+    // Вес штрафа за единицу относительного нарушения ограничения
+    private static final double PENALTY = 1e3;
+    private static final double GOLDEN = 0.3819660112501051; // (3 - √5) / 2
+
+    private final CalculationService calculationService;
+
+    private Objective objective = Objective.THRUST;
+    private double minExpansionRatio = DEFAULT_MIN_EXPANSION_RATIO;
+    private double maxExpansionRatio = DEFAULT_MAX_EXPANSION_RATIO;
+    private double minInletPressure = Double.NaN;   // NaN - давление на входе не оптимизируется
+    private double maxInletPressure = Double.NaN;
+    private double maxExitArea;                     // мм², 0 - без ограничения
+    private double minEfficiency;                   // %, 0 - без ограничения
+    private int starts = Runtime.getRuntime().availableProcessors();
+
+    public NozzleOptimizer(CalculationService calculationService) {
+        this.calculationService = calculationService;
+    }
+
+    public Objective getObjective() { return objective; }
+    public void setObjective(Objective objective) { this.objective = objective; }
+
+    public void setExpansionRatioRange(double min, double max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Диапазон степени расширения должен лежать в [1, ∞) и не быть пустым");
+        }
+        this.minExpansionRatio = min;
+        this.maxExpansionRatio = max;
+    }
+
+    /**
+     * Включение оптимизации давления на входе в диапазоне [min, max], атм
+     */
+    public void setInletPressureRange(double min, double max) {
+        if (!(min > 0) || max < min) {
+            throw new IllegalArgumentException("Диапазон давления на входе должен быть положительным и не пустым");
+        }
+        this.minInletPressure = min;
+        this.maxInletPressure = max;
+    }
+
+    /**
+     * Давление на входе берется из исходных данных и не оптимизируется
+     */
+    public void clearInletPressureRange() {
+        this.minInletPressure = Double.NaN;
+        this.maxInletPressure = Double.NaN;
+    }
+
+    public boolean isOptimizingInletPressure() { return !Double.isNaN(minInletPressure); }
+
+    public double getMaxExitArea() { return maxExitArea; }
+    public void setMaxExitArea(double maxExitArea) { this.maxExitArea = maxExitArea; }
+
+    public double getMinEfficiency() { return minEfficiency; }
+    public void setMinEfficiency(double minEfficiency) { this.minEfficiency = minEfficiency; }
+
+    public int getStarts() { return starts; }
+    public void setStarts(int starts) { this.starts = Math.max(1, starts); }
+
+    /**
+     * Поиск оптимального сопла. Степень расширения (и давление на входе, если задан
+     * его диапазон) в base не учитываются, остальные параметры берутся из base.
+     */
+    public NozzleOptimum optimize(LavalNozzleInput base) {
+        if (isOptimizingInletPressure() && minInletPressure <= base.outletPressure()) {
+            throw new IllegalArgumentException("Давление на входе должно быть больше давления на выходе");
+        }
+        long startTime = System.currentTimeMillis();
+
+        // Масштаб штрафа: тяга при расширении в пустоту или 100%
+        GasProperties gas = base.gas();
+        double scale = objective == Objective.THRUST
+                ? base.massFlowRate() * Math.sqrt(gas.getVelocityFactor() * base.temperature())
+                : 100;
+
+        double lnRatioLow = Math.log(minExpansionRatio);
+        double lnRatioHigh = Math.log(maxExpansionRatio);
+        boolean optimizePressure = isOptimizingInletPressure();
+        double lnLow = optimizePressure ? Math.log(minInletPressure) : lnRatioLow;
+        double lnHigh = optimizePressure ? Math.log(maxInletPressure) : lnRatioHigh;
+
+        List<SearchRun> runs = IntStream.range(0, starts).parallel()
+                .mapToObj(i -> {
+                    SearchRun run = new SearchRun(i, base, scale);
+                    double from = lnLow + (lnHigh - lnLow) * i / starts;
+                    double to = lnLow + (lnHigh - lnLow) * (i + 1) / starts;
+                    if (optimizePressure) {
+                        brentMaximize(lnP -> run.bestRatio(Math.exp(lnP), lnRatioLow, lnRatioHigh).value, from, to);
+                    } else {
+                        brentMaximize(lnRatio -> run.evaluate(Math.exp(lnRatio), base.inletPressure()).value, from, to);
+                    }
+                    return run;
+                })
+                .toList();
+
+        SearchRun bestRun = runs.get(0);
+        long evaluations = 0;
+        List<OptimizationStep> trace = new ArrayList<>();
+        for (SearchRun run : runs) {
+            evaluations += run.evaluations;
+            trace.addAll(run.trace);
+            if (run.best != null && (bestRun.best == null || run.best.value > bestRun.best.value)) {
+                bestRun = run;
+            }
+        }
+
+        Point best = bestRun.best;
+        return new NozzleOptimum(best.input, best.result, objectiveValue(best.result), best.feasible,
+                evaluations, System.currentTimeMillis() - startTime, trace);
+    }
+
+    private double objectiveValue(LavalNozzleResult result) {
+        return objective == Objective.THRUST ? result.thrust() : result.efficiency();
+    }
+
+    /**
+     * Метод Брента: максимум функции на отрезке [a, b]
+     *
+     * @return аргумент найденного максимума
+     */
+    private static double brentMaximize(DoubleUnaryOperator f, double a, double b) {
+        double x = a + GOLDEN * (b - a);
+        double w = x;
+        double v = x;
+        // Минимизируем -f
+        double fx = -f.applyAsDouble(x);
+        double fw = fx;
+        double fv = fx;
+        double d = 0;
+        double e = 0;
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double xm = 0.5 * (a + b);
+            double tol1 = TOLERANCE * Math.abs(x) + TINY;
+            double tol2 = 2 * tol1;
+            if (Math.abs(x - xm) <= tol2 - 0.5 * (b - a)) {
+                break;
+            }
+
+            boolean golden = true;
+            if (Math.abs(e) > tol1) {
+                // Шаг параболической интерполяции по трем лучшим точкам
+                double r = (x - w) * (fx - fv);
+                double q = (x - v) * (fx - fw);
+                double p = (x - v) * q - (x - w) * r;
+                q = 2 * (q - r);
+                if (q > 0) {
+                    p = -p;
+                }
+                q = Math.abs(q);
+                double previousE = e;
+                e = d;
+                if (Math.abs(p) < Math.abs(0.5 * q * previousE) && p > q * (a - x) && p < q * (b - x)) {
+                    d = p / q;
+                    double u = x + d;
+                    if (u - a < tol2 || b - u < tol2) {
+                        d = Math.copySign(tol1, xm - x);
+                    }
+                    golden = false;
+                }
+            }
+            if (golden) {
+                e = x >= xm ? a - x : b - x;
+                d = GOLDEN * e;
+            }
+
+            double u = Math.abs(d) >= tol1 ? x + d : x + Math.copySign(tol1, d);
+            double fu = -f.applyAsDouble(u);
+            if (fu <= fx) {
+                if (u >= x) {
+                    a = x;
+                } else {
+                    b = x;
+                }
+                v = w;
+                fv = fw;
+                w = x;
+                fw = fx;
+                x = u;
+                fx = fu;
+            } else {
+                if (u < x) {
+                    a = u;
+                } else {
+                    b = u;
+                }
+                if (fu <= fw || w == x) {
+                    v = w;
+                    fv = fw;
+                    w = u;
+                    fw = fu;
+                } else if (fu <= fv || v == x || v == w) {
+                    v = u;
+                    fv = fu;
+                }
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Рассчитанная точка поиска
+     */
+    private static final class Point {
+        private final LavalNozzleInput input;
+        private final LavalNozzleResult result;
+        private final double value;     // Целевая функция со штрафом
+        private final boolean feasible;
+
+        private Point(LavalNozzleInput input, LavalNozzleResult result, double value, boolean feasible) {
+            this.input = input;
+            this.result = result;
+            this.value = value;
+            this.feasible = feasible;
+        }
+    }
+
+    /**
+     * Состояние одного запуска мультистарта (используется одним потоком)
+     */
+    private final class SearchRun {
+        private final int index;
+        private final LavalNozzleInput base;
+        private final double scale;
+        private final List<OptimizationStep> trace = new ArrayList<>();
+        private int evaluations;
+        private Point best;
+
+        private SearchRun(int index, LavalNozzleInput base, double scale) {
+            this.index = index;
+            this.base = base;
+            this.scale = scale;
+        }
+
+        /**
+         * Лучшая степень расширения при заданном давлении на входе
+         * (поиск по INNER_STARTS поддиапазонам подряд)
+         */
+        private Point bestRatio(double inletPressure, double lnRatioLow, double lnRatioHigh) {
+            Point bestForPressure = null;
+            for (int i = 0; i < INNER_STARTS; i++) {
+                double from = lnRatioLow + (lnRatioHigh - lnRatioLow) * i / INNER_STARTS;
+                double to = lnRatioLow + (lnRatioHigh - lnRatioLow) * (i + 1) / INNER_STARTS;
+                double lnRatio = brentMaximize(x -> evaluate(Math.exp(x), inletPressure).value, from, to);
+                Point point = evaluate(Math.exp(lnRatio), inletPressure);
+                if (bestForPressure == null || point.value > bestForPressure.value) {
+                    bestForPressure = point;
+                }
+            }
+            return bestForPressure;
+        }
+
+        private Point evaluate(double expansionRatio, double inletPressure) {
+            LavalNozzleInput input = new LavalNozzleInput(base.gas(), inletPressure, base.outletPressure(),
+                    base.temperature(), base.massFlowRate(), expansionRatio, base.supersonic());
+            LavalNozzleResult result = calculationService.computeLavalNozzle(input);
+            evaluations++;
+
+            double violation = 0;
+            if (maxExitArea > 0 && result.exitArea() > maxExitArea) {
+                violation += result.exitArea() / maxExitArea - 1;
+            }
+            if (minEfficiency > 0 && result.efficiency() < minEfficiency) {
+                violation += 1 - result.efficiency() / minEfficiency;
+            }
+            double value = objectiveValue(result) - PENALTY * scale * violation;
+            if (Double.isNaN(value)) {
+                value = Double.NEGATIVE_INFINITY;
+            }
+
+            Point point = new Point(input, result, value, violation == 0);
+            if (best == null || value > best.value) {
+                best = point;
+                trace.add(new OptimizationStep(index, evaluations, expansionRatio, inletPressure, value));
+            }
+            return point;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.LavalNozzleBatch;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.OxygenLanceBatch;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.SweepAxis;
+import com.steelcalc.model.SweepChunk;
+import com.steelcalc.util.ProgressListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Параметрическое исследование кислородной фурмы или сопла Лаваля.
+ *
+ * Перебирает декартово произведение значений по осям (SweepAxis); параметры
+ * без оси берутся из базовой конфигурации. Сетка делится на порции по CHUNK_SIZE
+ * точек, которые считаются в пуле ForkJoin пакетными методами CalculationService
+ * и по мере готовности передаются получателям (SweepSink).
+ *
+ * Номер точки раскладывается по осям как число в смешанной системе счисления:
+ * последняя ось меняется быстрее всех.
+ * Объект рассчитан на один запуск run(); cancel() можно вызвать из любого потока.
+ */
+public class ParametricSweep {
+
+    public static final String OXYGEN_LANCE = "OXYGEN_LANCE";
+    public static final String LAVAL_NOZZLE = "LAVAL_NOZZLE";
+
+    // Имена параметров совпадают с ключами CalculationService.convertToCalculationResult
+    public static final List<String> OXYGEN_LANCE_INPUTS = List.of(
+            "oxygenFlowRate", "pressure", "nozzleDiameter", "temperature", "oxygenPurity");
+    public static final List<String> OXYGEN_LANCE_OUTPUTS = List.of(
+            "exitVelocity", "jetForce", "efficiency", "machNumber", "reynoldsNumber");
+    public static final List<String> LAVAL_NOZZLE_INPUTS = List.of(
+            "inletPressure", "outletPressure", "temperature", "massFlowRate", "expansionRatio", "isSupersonic");
+    public static final List<String> LAVAL_NOZZLE_OUTPUTS = List.of(
+            "throatArea", "exitArea", "exitVelocity", "machNumber", "thrust", "efficiency");
+
+    // Больше точек за один запуск не считаем
+    public static final long MAX_POINTS = 50_000_000L;
+    // Размер порции: достаточно велик для пакетного расчета и достаточно мал для частого хода выполнения
+    private static final int CHUNK_SIZE = 2_048;
+
+    private final CalculationService calculationService = new CalculationService();
+    private final String calculationType;
+    private final GasProperties gas;        // Только для сопла Лаваля
+    private final List<String> inputNames;
+    private final List<String> outputNames;
+    private final double[] baseValues;      // Значения всех входных параметров по умолчанию
+    private final SweepAxis[] axes;
+    private final int[] axisColumns;        // Номер входного столбца для каждой оси
+    private final long totalPoints;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong completed = new AtomicLong();
+    private final Object sinkLock = new Object();
+    private volatile long startNanos;
+    private volatile long finishNanos;
+    private volatile Exception failure;
+
+    private ParametricSweep(String calculationType, GasProperties gas, List<String> inputNames,
+                            List<String> outputNames, double[] baseValues, List<SweepAxis> axes) {
+        this.calculationType = calculationType;
+        this.gas = gas;
+        this.inputNames = inputNames;
+        this.outputNames = outputNames;
+        this.baseValues = baseValues;
+        this.axes = axes.toArray(new SweepAxis[0]);
+        this.axisColumns = new int[this.axes.length];
+
+        long points = 1;
+        for (int a = 0; a < this.axes.length; a++) {
+            int column = inputNames.indexOf(this.axes[a].getParameter());
+            if (column < 0) {
+                throw new IllegalArgumentException("Неизвестный параметр: " + this.axes[a].getParameter());
+            }
+            for (int previous = 0; previous < a; previous++) {
+                if (axisColumns[previous] == column) {
+                    throw new IllegalArgumentException("Параметр задан дважды: " + this.axes[a].getParameter());
+                }
+            }
+            axisColumns[a] = column;
+            points *= this.axes[a].size();
+            if (points > MAX_POINTS) {
+                throw new IllegalArgumentException("Слишком много точек в исследовании (допустимо не более " +
+                        MAX_POINTS + ")");
+            }
+        }
+        this.totalPoints = points;
+    }
+
+    /**
+     * Исследование кислородной фурмы вокруг базовой конфигурации
+     */
+    public static ParametricSweep forOxygenLance(OxygenLanceInput base, List<SweepAxis> axes) {
+        double[] baseValues = {
+                base.oxygenFlowRate(), base.pressure(), base.nozzleDiameter(),
+                base.temperature(), base.oxygenPurity()
+        };
+        return new ParametricSweep(OXYGEN_LANCE, null, OXYGEN_LANCE_INPUTS, OXYGEN_LANCE_OUTPUTS,
+                baseValues, axes);
+    }
+
+    /**
+     * Исследование сопла Лаваля вокруг базовой конфигурации.
+     * Режим течения задается параметром "isSupersonic" (0 или 1).
+     */
+    public static ParametricSweep forLavalNozzle(LavalNozzleInput base, List<SweepAxis> axes) {
+        double[] baseValues = {
+                base.inletPressure(), base.outletPressure(), base.temperature(),
+                base.massFlowRate(), base.expansionRatio(), base.supersonic() ? 1.0 : 0.0
+        };
+        return new ParametricSweep(LAVAL_NOZZLE, base.gas(), LAVAL_NOZZLE_INPUTS, LAVAL_NOZZLE_OUTPUTS,
+                baseValues, axes);
+    }
+
+    public String getCalculationType() { return calculationType; }
+    public List<String> getInputNames() { return inputNames; }
+    public List<String> getOutputNames() { return outputNames; }
+    public long getTotalPoints() { return totalPoints; }
+    public long getCompletedPoints() { return completed.get(); }
+    public boolean isCancelled() { return cancelled.get(); }
+
+    /**
+     * Запрос на остановку: уже начатые порции досчитываются, новые не запускаются
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Текущая производительность, точек в секунду
+     */
+    public double getPointsPerSecond() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = finishNanos != 0 ? finishNanos : System.nanoTime();
+        double seconds = (end - start) / 1e9;
+        return seconds > 0 ? completed.get() / seconds : 0;
+    }
+
+    /**
+     * Выполнение исследования в общем пуле ForkJoin (метод блокирует вызывающий поток).
+     *
+     * @param sinks    получатели результатов
+     * @param listener ход выполнения (число рассчитанных точек); false - остановить
+     * @return статистика: total, evaluated, cancelled, elapsedMillis, pointsPerSecond
+     * @throws IOException если получатель не смог принять результаты
+     */
+    public Map<String, Object> run(List<SweepSink> sinks, ProgressListener listener) throws IOException {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Исследование уже запускалось");
+        }
+
+        for (SweepSink sink : sinks) {
+            sink.start(calculationType, inputNames, outputNames, totalPoints);
+        }
+
+        startNanos = System.nanoTime();
+        ForkJoinPool.commonPool().invoke(new SweepTask(sinks, listener, 0, totalPoints));
+        finishNanos = System.nanoTime();
+
+        IOException finishError = null;
+        for (SweepSink sink : sinks) {
+            try {
+                sink.finish(cancelled.get());
+            } catch (IOException e) {
+                if (finishError == null) {
+                    finishError = e;
+                }
+            }
+        }
+
+        Exception error = failure;
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (finishError != null) {
+            throw finishError;
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", totalPoints);
+        stats.put("evaluated", completed.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("elapsedMillis", (finishNanos - startNanos) / 1_000_000);
+        stats.put("pointsPerSecond", getPointsPerSecond());
+        return stats;
+    }
+
+    /**
+     * Расчет одной порции точек [firstIndex, firstIndex + size)
+     */
+    private SweepChunk evaluate(long firstIndex, int size) {
+        double[][] inputs = new double[inputNames.size()][size];
+        for (int column = 0; column < inputs.length; column++) {
+            Arrays.fill(inputs[column], baseValues[column]);
+        }
+
+        // Разложение номера первой точки по осям, дальше - увеличение "счетчика" на единицу
+        int[] digits = new int[axes.length];
+        long rest = firstIndex;
+        for (int a = axes.length - 1; a >= 0; a--) {
+            digits[a] = (int) (rest % axes[a].size());
+            rest /= axes[a].size();
+        }
+        for (int row = 0; row < size; row++) {
+            for (int a = 0; a < axes.length; a++) {
+                inputs[axisColumns[a]][row] = axes[a].getValue(digits[a]);
+            }
+            for (int a = axes.length - 1; a >= 0; a--) {
+                if (++digits[a] < axes[a].size()) {
+                    break;
+                }
+                digits[a] = 0;
+            }
+        }
+
+        double[][] outputs;
+        if (OXYGEN_LANCE.equals(calculationType)) {
+            OxygenLanceBatch batch = new OxygenLanceBatch(inputs[0], inputs[1], inputs[2], inputs[3], inputs[4]);
+            calculationService.calculateOxygenLanceBatch(batch, false);
+            outputs = new double[][]{
+                    batch.getExitVelocity(), batch.getJetForce(), batch.getEfficiency(),
+                    batch.getMachNumber(), batch.getReynoldsNumber()
+            };
+        } else {
+            boolean[] supersonic = new boolean[size];
+            for (int row = 0; row < size; row++) {
+                supersonic[row] = inputs[5][row] >= 0.5;
+            }
+            LavalNozzleBatch batch = new LavalNozzleBatch(gas, inputs[0], inputs[1], inputs[2],
+                    inputs[3], inputs[4], supersonic);
+            calculationService.calculateLavalNozzleBatch(batch, false);
+            outputs = new double[][]{
+                    batch.getThroatArea(), batch.getExitArea(), batch.getExitVelocity(),
+                    batch.getMachNumber(), batch.getThrust(), batch.getEfficiency()
+            };
+        }
+
+        return new SweepChunk(calculationType, firstIndex, size, inputNames, inputs, outputNames, outputs);
+    }
+
+    /**
+     * Передача порции получателям и учет хода выполнения.
+     * Выполняется под общей блокировкой, чтобы получатели вызывались по очереди.
+     */
+    private void deliver(SweepChunk chunk, List<SweepSink> sinks, ProgressListener listener) {
+        synchronized (sinkLock) {
+            if (cancelled.get()) {
+                return;
+            }
+            try {
+                for (SweepSink sink : sinks) {
+                    sink.accept(chunk);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ошибка при передаче результатов исследования: " + e.getMessage());
+                failure = e;
+                cancelled.set(true);
+                return;
+            }
+
+            long done = completed.addAndGet(chunk.size());
+            if (listener != null && !listener.onProgress(done, totalPoints)) {
+                cancelled.set(true);
+            }
+        }
+    }
+
+    /**
+     * Задача ForkJoin: делит диапазон номеров точек пополам по границам порций,
+     * пока не останется одна порция
+     */
+    private final class SweepTask extends RecursiveAction {
+        private final List<SweepSink> sinks;
+        private final ProgressListener listener;
+        private final long from;
+        private final long to;
+
+        private SweepTask(List<SweepSink> sinks, ProgressListener listener, long from, long to) {
+            this.sinks = sinks;
+            this.listener = listener;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+            long count = to - from;
+            if (count <= CHUNK_SIZE) {
+                deliver(evaluate(from, (int) count), sinks, listener);
+                return;
+            }
+            long chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            long middle = from + Math.max(1, chunks / 2) * CHUNK_SIZE;
+            List<SweepTask> halves = new ArrayList<>(2);
+            halves.add(new SweepTask(sinks, listener, from, middle));
+            halves.add(new SweepTask(sinks, listener, middle, to));
+            invokeAll(halves);
+        }
+    }
+}
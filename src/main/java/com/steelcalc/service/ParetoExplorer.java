@@ -0,0 +1,674 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.model.GasProperties;
+import com.steelcalc.model.LavalNozzleBatch;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.OxygenLanceBatch;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.ParetoPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Многокритериальный поиск (по схеме NSGA-II) для кислородной фурмы или сопла Лаваля:
+ * построение Парето-фронта по нескольким критериям, например сила удара струи,
+ * расход кислорода и эффективность.
+ *
+ * Каждое поколение: турнирный отбор родителей по рангу и расстоянию скученности,
+ * имитация двоичного скрещивания (SBX) и полиномиальная мутация в нормированных
+ * координатах [0, 1], расчет потомков, затем отбор лучших из родителей и потомков
+ * по фронтам недоминирования. Популяция считается пакетными методами
+ * CalculationService порциями по CHUNK_SIZE в общем пуле ForkJoin (с перехватом задач).
+ *
+ * Случайные числа берутся только в вызывающем потоке из генератора с заданным seed,
+ * а расчет точек от порядка выполнения порций не зависит, поэтому при одинаковых
+ * настройках результат повторяется.
+ * Объект рассчитан на один запуск run(); cancel() можно вызвать из любого потока.
+ */
+public class ParetoExplorer {
+
+    public static final String OXYGEN_LANCE = ParametricSweep.OXYGEN_LANCE;
+    public static final String LAVAL_NOZZLE = ParametricSweep.LAVAL_NOZZLE;
+
+    // Производный критерий фурмы: расход кислорода через сопло ṁ = F / V, м³/ч (при н.у.)
+    public static final String OXYGEN_CONSUMPTION = "oxygenConsumption";
+
+    public static final int DEFAULT_POPULATION_SIZE = 200;
+    public static final int DEFAULT_GENERATIONS = 100;
+    public static final long DEFAULT_SEED = 42L;
+
+    // Плотность кислорода при нормальных условиях, кг/м³
+    private static final double OXYGEN_DENSITY_NORMAL = 1.429;
+    // Число точек в одной задаче пула при расчете популяции
+    private static final int CHUNK_SIZE = 32;
+    // Параметры скрещивания и мутации (распределительные индексы по Deb)
+    private static final double CROSSOVER_PROBABILITY = 0.9;
+    private static final double CROSSOVER_ETA = 15;
+    private static final double MUTATION_ETA = 20;
+
+    /**
+     * Критерий оптимизации: имя входного параметра или результата и направление
+     */
+    public record Objective(String parameter, boolean maximize) {
+    }
+
+    /**
+     * Получатель Парето-фронта после каждого поколения (вызывается в потоке run())
+     */
+    @FunctionalInterface
+    public interface GenerationListener {
+        /**
+         * @return false - остановить поиск
+         */
+        boolean onGeneration(int generation, List<ParetoPoint> front);
+    }
+
+    private final CalculationService calculationService = new CalculationService();
+    private final String calculationType;
+    private final GasProperties gas;        // Только для сопла Лаваля
+    private final List<String> inputNames;
+    private final List<String> outputNames; // Результаты расчета и производные критерии
+    private final double[] baseValues;
+    private final double[] lower;
+    private final double[] upper;
+    private final boolean[] variable;       // Подбирается ли входной параметр
+
+    private List<Objective> objectives;
+    private int populationSize = DEFAULT_POPULATION_SIZE;
+    private int generations = DEFAULT_GENERATIONS;
+    private long seed = DEFAULT_SEED;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile int completedGenerations;
+    private volatile long evaluations;
+
+    private ParetoExplorer(String calculationType, GasProperties gas, List<String> inputNames,
+                           List<String> outputNames, double[] baseValues, List<Objective> objectives) {
+        this.calculationType = calculationType;
+        this.gas = gas;
+        this.inputNames = inputNames;
+        this.outputNames = outputNames;
+        this.baseValues = baseValues;
+        this.lower = baseValues.clone();
+        this.upper = baseValues.clone();
+        this.variable = new boolean[baseValues.length];
+        setObjectives(objectives);
+    }
+
+    /**
+     * Поиск для кислородной фурмы: по умолчанию подбираются давление, диаметр сопла
+     * и чистота кислорода, критерии - сила удара струи (макс.), расход кислорода
+     * через сопло (мин.) и эффективность (макс.). Остальные параметры берутся из base.
+     */
+    public static ParetoExplorer forOxygenLance(OxygenLanceInput base) {
+        double[] baseValues = {
+                base.oxygenFlowRate(), base.pressure(), base.nozzleDiameter(),
+                base.temperature(), base.oxygenPurity()
+        };
+        List<String> outputs = new ArrayList<>(ParametricSweep.OXYGEN_LANCE_OUTPUTS);
+        outputs.add(OXYGEN_CONSUMPTION);
+
+        ParetoExplorer explorer = new ParetoExplorer(OXYGEN_LANCE, null, ParametricSweep.OXYGEN_LANCE_INPUTS,
+                List.copyOf(outputs), baseValues, List.of(
+                        new Objective("jetForce", true),
+                        new Objective(OXYGEN_CONSUMPTION, false),
+                        new Objective("efficiency", true)));
+        explorer.setBounds("pressure", 0.4, 2.0);
+        explorer.setBounds("nozzleDiameter", 10, 80);
+        explorer.setBounds("oxygenPurity", 90, 99.9);
+        return explorer;
+    }
+
+    /**
+     * Поиск для сопла Лаваля: по умолчанию подбираются давление на входе, степень
+     * расширения и массовый расход, критерии - тяга (макс.), массовый расход (мин.)
+     * и эффективность (макс.). Остальные параметры берутся из base.
+     */
+    public static ParetoExplorer forLavalNozzle(LavalNozzleInput base) {
+        double[] baseValues = {
+                base.inletPressure(), base.outletPressure(), base.temperature(),
+                base.massFlowRate(), base.expansionRatio(), base.supersonic() ? 1.0 : 0.0
+        };
+        ParetoExplorer explorer = new ParetoExplorer(LAVAL_NOZZLE, base.gas(), ParametricSweep.LAVAL_NOZZLE_INPUTS,
+                ParametricSweep.LAVAL_NOZZLE_OUTPUTS, baseValues, List.of(
+                        new Objective("thrust", true),
+                        new Objective("massFlowRate", false),
+                        new Objective("efficiency", true)));
+        explorer.setBounds("inletPressure", Math.max(2, base.outletPressure() * 2), 50);
+        explorer.setBounds("expansionRatio", 1, 20);
+        explorer.setBounds("massFlowRate", 0.1, 10);
+        return explorer;
+    }
+
+    public String getCalculationType() { return calculationType; }
+    public List<String> getInputNames() { return inputNames; }
+    public List<String> getOutputNames() { return outputNames; }
+    public List<Objective> getObjectives() { return objectives; }
+
+    public int getPopulationSize() { return populationSize; }
+    public void setPopulationSize(int populationSize) {
+        // Четный размер: потомки получаются парами
+        this.populationSize = Math.max(4, populationSize + (populationSize & 1));
+    }
+
+    public int getGenerations() { return generations; }
+    public void setGenerations(int generations) { this.generations = Math.max(1, generations); }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public int getCompletedGenerations() { return completedGenerations; }
+    public long getEvaluations() { return evaluations; }
+    public boolean isCancelled() { return cancelled.get(); }
+
+    /**
+     * Подбор входного параметра в диапазоне [min, max] (при min = max параметр постоянный)
+     */
+    public void setBounds(String parameter, double min, double max) {
+        int column = inputNames.indexOf(parameter);
+        if (column < 0) {
+            throw new IllegalArgumentException("Неизвестный параметр: " + parameter);
+        }
+        if (max < min) {
+            throw new IllegalArgumentException("Диапазон параметра " + parameter + " не может быть пустым");
+        }
+        lower[column] = min;
+        upper[column] = max;
+        variable[column] = max > min;
+    }
+
+    /**
+     * Параметр больше не подбирается и берется из базовой конфигурации
+     */
+    public void fixParameter(String parameter) {
+        int column = inputNames.indexOf(parameter);
+        if (column >= 0) {
+            lower[column] = baseValues[column];
+            upper[column] = baseValues[column];
+            variable[column] = false;
+        }
+    }
+
+    public void setObjectives(List<Objective> objectives) {
+        if (objectives.size() < 2) {
+            throw new IllegalArgumentException("Нужно не меньше двух критериев");
+        }
+        for (Objective objective : objectives) {
+            if (!inputNames.contains(objective.parameter()) && !outputNames.contains(objective.parameter())) {
+                throw new IllegalArgumentException("Неизвестный критерий: " + objective.parameter());
+            }
+        }
+        this.objectives = List.copyOf(objectives);
+    }
+
+    /**
+     * Запрос на остановку: текущее поколение досчитывается
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Выполнение поиска (метод блокирует вызывающий поток)
+     *
+     * @param listener получатель фронта после каждого поколения (может быть null)
+     * @return Парето-фронт последнего поколения
+     */
+    public List<ParetoPoint> run(GenerationListener listener) {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Поиск уже запускался");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Individual[] population = new Individual[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            double[] genes = new double[baseValues.length];
+            for (int k = 0; k < genes.length; k++) {
+                genes[k] = variable[k] ? random.nextDouble() : 0;
+            }
+            population[i] = new Individual(genes);
+        }
+        evaluate(population);
+        population = select(population, populationSize);
+        report(listener, 0, population);
+
+        for (int generation = 1; generation <= generations && !cancelled.get(); generation++) {
+            Individual[] offspring = makeOffspring(population, random);
+            evaluate(offspring);
+
+            Individual[] combined = Arrays.copyOf(population, population.length + offspring.length);
+            System.arraycopy(offspring, 0, combined, population.length, offspring.length);
+            population = select(combined, populationSize);
+
+            completedGenerations = generation;
+            report(listener, generation, population);
+        }
+
+        return front(population);
+    }
+
+    /**
+     * Фронт в виде расчетов для сохранения в историю: одна группа записей
+     * с названиями "<название> #<номер точки>" (как у параметрического исследования)
+     */
+    public List<CalculationResult> toCalculationResults(int userId, String title, List<ParetoPoint> front) {
+        List<String> storedOutputs = OXYGEN_LANCE.equals(calculationType)
+                ? ParametricSweep.OXYGEN_LANCE_OUTPUTS : ParametricSweep.LAVAL_NOZZLE_OUTPUTS;
+
+        StringBuilder criteria = new StringBuilder();
+        for (Objective objective : objectives) {
+            criteria.append(criteria.length() > 0 ? ", " : "")
+                    .append(objective.parameter()).append(objective.maximize() ? " (макс.)" : " (мин.)");
+        }
+
+        List<CalculationResult> calculations = new ArrayList<>(front.size());
+        for (int i = 0; i < front.size(); i++) {
+            ParetoPoint point = front.get(i);
+            CalculationResult result = new CalculationResult(calculationType, title + " #" + (i + 1));
+            result.setUserId(userId);
+            result.setInputParameters(new HashMap<>(point.inputs()));
+            for (String name : storedOutputs) {
+                result.addOutputResult(name, point.outputs().get(name));
+            }
+            result.setNotes(String.format("Точка %d из %d Парето-фронта (seed %d). Критерии: %s",
+                    i + 1, front.size(), seed, criteria));
+            calculations.add(result);
+        }
+        return calculations;
+    }
+
+    private void report(GenerationListener listener, int generation, Individual[] population) {
+        if (listener != null && !listener.onGeneration(generation, front(population))) {
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * Точки первого фронта без повторов (одинаковые значения критериев)
+     */
+    private List<ParetoPoint> front(Individual[] population) {
+        List<ParetoPoint> points = new ArrayList<>();
+        Set<List<Double>> seen = new HashSet<>();
+        for (Individual individual : population) {
+            if (individual.rank != 0) {
+                continue;
+            }
+            List<Double> key = new ArrayList<>(individual.objectives.length);
+            for (double value : individual.objectives) {
+                key.add(value);
+            }
+            if (!seen.add(key)) {
+                continue;
+            }
+
+            Map<String, Double> inputs = new LinkedHashMap<>();
+            for (int k = 0; k < inputNames.size(); k++) {
+                inputs.put(inputNames.get(k), individual.inputs[k]);
+            }
+            Map<String, Double> outputs = new LinkedHashMap<>();
+            for (int k = 0; k < outputNames.size(); k++) {
+                outputs.put(outputNames.get(k), individual.outputs[k]);
+            }
+            points.add(new ParetoPoint(inputs, outputs));
+        }
+        return points;
+    }
+
+    // ---------- Отбор ----------
+
+    /**
+     * Отбор count лучших: целые фронты недоминирования по порядку,
+     * последний - по убыванию расстояния скученности
+     */
+    private Individual[] select(Individual[] candidates, int count) {
+        List<List<Individual>> fronts = sortNonDominated(candidates);
+        Individual[] selected = new Individual[Math.min(count, candidates.length)];
+        int filled = 0;
+        for (List<Individual> front : fronts) {
+            assignCrowding(front);
+            if (filled + front.size() > selected.length) {
+                front.sort(Comparator.comparingDouble((Individual individual) -> individual.crowding).reversed());
+            }
+            for (Individual individual : front) {
+                if (filled == selected.length) {
+                    return selected;
+                }
+                selected[filled++] = individual;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Быстрая сортировка по недоминированию: ранги 0, 1, ... и списки фронтов
+     */
+    private List<List<Individual>> sortNonDominated(Individual[] individuals) {
+        int n = individuals.length;
+        int[] dominatedByCount = new int[n];
+        List<List<Integer>> dominates = new ArrayList<>(n);
+        List<Integer> current = new ArrayList<>();
+
+        for (int p = 0; p < n; p++) {
+            dominates.add(new ArrayList<>());
+        }
+        for (int p = 0; p < n; p++) {
+            for (int q = p + 1; q < n; q++) {
+                int relation = compareDominance(individuals[p], individuals[q]);
+                if (relation < 0) {
+                    dominates.get(p).add(q);
+                    dominatedByCount[q]++;
+                } else if (relation > 0) {
+                    dominates.get(q).add(p);
+                    dominatedByCount[p]++;
+                }
+            }
+        }
+        for (int p = 0; p < n; p++) {
+            if (dominatedByCount[p] == 0) {
+                current.add(p);
+            }
+        }
+
+        List<List<Individual>> fronts = new ArrayList<>();
+        int rank = 0;
+        while (!current.isEmpty()) {
+            List<Individual> front = new ArrayList<>(current.size());
+            List<Integer> next = new ArrayList<>();
+            for (int p : current) {
+                individuals[p].rank = rank;
+                front.add(individuals[p]);
+                for (int q : dominates.get(p)) {
+                    if (--dominatedByCount[q] == 0) {
+                        next.add(q);
+                    }
+                }
+            }
+            fronts.add(front);
+            current = next;
+            rank++;
+        }
+        return fronts;
+    }
+
+    /**
+     * -1 - a доминирует b, 1 - b доминирует a, 0 - не сравнимы
+     * (все критерии хранятся в виде, где меньше - лучше)
+     */
+    private static int compareDominance(Individual a, Individual b) {
+        boolean aBetter = false;
+        boolean bBetter = false;
+        for (int k = 0; k < a.objectives.length; k++) {
+            if (a.objectives[k] < b.objectives[k]) {
+                aBetter = true;
+            } else if (b.objectives[k] < a.objectives[k]) {
+                bBetter = true;
+            }
+        }
+        if (aBetter == bBetter) {
+            return 0;
+        }
+        return aBetter ? -1 : 1;
+    }
+
+    /**
+     * Расстояние скученности: сумма нормированных размеров "кубоида" соседей
+     * по каждому критерию, у крайних точек - бесконечность
+     */
+    private static void assignCrowding(List<Individual> front) {
+        for (Individual individual : front) {
+            individual.crowding = 0;
+        }
+        int size = front.size();
+        if (size == 0) {
+            return;
+        }
+        int objectiveCount = front.get(0).objectives.length;
+        List<Individual> sorted = new ArrayList<>(front);
+        for (int k = 0; k < objectiveCount; k++) {
+            int objective = k;
+            sorted.sort(Comparator.comparingDouble(individual -> individual.objectives[objective]));
+            double min = sorted.get(0).objectives[k];
+            double max = sorted.get(size - 1).objectives[k];
+            sorted.get(0).crowding = Double.POSITIVE_INFINITY;
+            sorted.get(size - 1).crowding = Double.POSITIVE_INFINITY;
+            if (max - min <= 0 || !Double.isFinite(max - min)) {
+                continue;
+            }
+            for (int i = 1; i < size - 1; i++) {
+                sorted.get(i).crowding += (sorted.get(i + 1).objectives[k] - sorted.get(i - 1).objectives[k])
+                        / (max - min);
+            }
+        }
+    }
+
+    // ---------- Скрещивание и мутация ----------
+
+    private Individual[] makeOffspring(Individual[] population, SplittableRandom random) {
+        Individual[] offspring = new Individual[population.length];
+        int variableCount = 0;
+        for (boolean isVariable : variable) {
+            if (isVariable) {
+                variableCount++;
+            }
+        }
+        double mutationProbability = 1.0 / Math.max(1, variableCount);
+
+        for (int i = 0; i < offspring.length; i += 2) {
+            double[] first = tournament(population, random).genes.clone();
+            double[] second = tournament(population, random).genes.clone();
+            if (random.nextDouble() < CROSSOVER_PROBABILITY) {
+                crossover(first, second, random);
+            }
+            mutate(first, mutationProbability, random);
+            mutate(second, mutationProbability, random);
+            offspring[i] = new Individual(first);
+            if (i + 1 < offspring.length) {
+                offspring[i + 1] = new Individual(second);
+            }
+        }
+        return offspring;
+    }
+
+    /**
+     * Двоичный турнир: меньший ранг, при равном - большее расстояние скученности
+     */
+    private static Individual tournament(Individual[] population, SplittableRandom random) {
+        Individual a = population[random.nextInt(population.length)];
+        Individual b = population[random.nextInt(population.length)];
+        if (a.rank != b.rank) {
+            return a.rank < b.rank ? a : b;
+        }
+        return b.crowding > a.crowding ? b : a;
+    }
+
+    /**
+     * Имитация двоичного скрещивания (SBX) в границах [0, 1]
+     */
+    private void crossover(double[] first, double[] second, SplittableRandom random) {
+        for (int k = 0; k < first.length; k++) {
+            if (!variable[k] || random.nextDouble() >= 0.5 || Math.abs(first[k] - second[k]) < 1e-14) {
+                continue;
+            }
+            double y1 = Math.min(first[k], second[k]);
+            double y2 = Math.max(first[k], second[k]);
+            double u = random.nextDouble();
+
+            double c1 = 0.5 * (y1 + y2 - spreadFactor(1 + 2 * y1 / (y2 - y1), u) * (y2 - y1));
+            double c2 = 0.5 * (y1 + y2 + spreadFactor(1 + 2 * (1 - y2) / (y2 - y1), u) * (y2 - y1));
+            c1 = clamp(c1);
+            c2 = clamp(c2);
+
+            if (random.nextDouble() < 0.5) {
+                first[k] = c2;
+                second[k] = c1;
+            } else {
+                first[k] = c1;
+                second[k] = c2;
+            }
+        }
+    }
+
+    private static double spreadFactor(double beta, double u) {
+        double alpha = 2 - Math.pow(beta, -(CROSSOVER_ETA + 1));
+        if (u <= 1 / alpha) {
+            return Math.pow(u * alpha, 1 / (CROSSOVER_ETA + 1));
+        }
+        return Math.pow(1 / (2 - u * alpha), 1 / (CROSSOVER_ETA + 1));
+    }
+
+    /**
+     * Полиномиальная мутация в границах [0, 1]
+     */
+    private void mutate(double[] genes, double probability, SplittableRandom random) {
+        for (int k = 0; k < genes.length; k++) {
+            if (!variable[k] || random.nextDouble() >= probability) {
+                continue;
+            }
+            double y = genes[k];
+            double u = random.nextDouble();
+            double power = 1 / (MUTATION_ETA + 1);
+            double deltaQ;
+            if (u < 0.5) {
+                double value = 2 * u + (1 - 2 * u) * Math.pow(1 - y, MUTATION_ETA + 1);
+                deltaQ = Math.pow(value, power) - 1;
+            } else {
+                double value = 2 * (1 - u) + 2 * (u - 0.5) * Math.pow(y, MUTATION_ETA + 1);
+                deltaQ = 1 - Math.pow(value, power);
+            }
+            genes[k] = clamp(y + deltaQ);
+        }
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    // ---------- Расчет ----------
+
+    /**
+     * Расчет популяции в общем пуле ForkJoin
+     */
+    private void evaluate(Individual[] individuals) {
+        ForkJoinPool.commonPool().invoke(new EvaluateTask(individuals, 0, individuals.length));
+        evaluations += individuals.length;
+    }
+
+    /**
+     * Расчет точек [from, to) одним пакетом
+     */
+    private void evaluateChunk(Individual[] individuals, int from, int to) {
+        int size = to - from;
+        double[][] inputs = new double[baseValues.length][size];
+        for (int row = 0; row < size; row++) {
+            Individual individual = individuals[from + row];
+            individual.inputs = new double[baseValues.length];
+            for (int k = 0; k < baseValues.length; k++) {
+                individual.inputs[k] = variable[k]
+                        ? lower[k] + (upper[k] - lower[k]) * individual.genes[k]
+                        : lower[k];
+                inputs[k][row] = individual.inputs[k];
+            }
+        }
+
+        double[][] outputs;
+        if (OXYGEN_LANCE.equals(calculationType)) {
+            OxygenLanceBatch batch = new OxygenLanceBatch(inputs[0], inputs[1], inputs[2], inputs[3], inputs[4]);
+            calculationService.calculateOxygenLanceBatch(batch, false);
+            double[] consumption = new double[size];
+            for (int row = 0; row < size; row++) {
+                consumption[row] = batch.getJetForce()[row] / batch.getExitVelocity()[row]
+                        * 3600 / OXYGEN_DENSITY_NORMAL;
+            }
+            outputs = new double[][]{
+                    batch.getExitVelocity(), batch.getJetForce(), batch.getEfficiency(),
+                    batch.getMachNumber(), batch.getReynoldsNumber(), consumption
+            };
+        } else {
+            boolean[] supersonic = new boolean[size];
+            for (int row = 0; row < size; row++) {
+                supersonic[row] = inputs[5][row] >= 0.5;
+            }
+            LavalNozzleBatch batch = new LavalNozzleBatch(gas, inputs[0], inputs[1], inputs[2],
+                    inputs[3], inputs[4], supersonic);
+            calculationService.calculateLavalNozzleBatch(batch, false);
+            outputs = new double[][]{
+                    batch.getThroatArea(), batch.getExitArea(), batch.getExitVelocity(),
+                    batch.getMachNumber(), batch.getThrust(), batch.getEfficiency()
+            };
+        }
+
+        for (int row = 0; row < size; row++) {
+            Individual individual = individuals[from + row];
+            individual.outputs = new double[outputs.length];
+            for (int k = 0; k < outputs.length; k++) {
+                individual.outputs[k] = outputs[k][row];
+            }
+            individual.objectives = new double[objectives.size()];
+            for (int k = 0; k < objectives.size(); k++) {
+                Objective objective = objectives.get(k);
+                int column = outputNames.indexOf(objective.parameter());
+                double value = column >= 0
+                        ? individual.outputs[column]
+                        : individual.inputs[inputNames.indexOf(objective.parameter())];
+                // Меньше - лучше; нерасчетные точки - худшие
+                individual.objectives[k] = Double.isNaN(value) ? Double.POSITIVE_INFINITY
+                        : objective.maximize() ? -value : value;
+            }
+        }
+    }
+
+    /**
+     * Особь популяции: нормированные координаты, входные данные, результаты и критерии
+     */
+    private static final class Individual {
+        private final double[] genes;
+        private double[] inputs;
+        private double[] outputs;
+        private double[] objectives;
+        private int rank;
+        private double crowding;
+
+        private Individual(double[] genes) {
+            this.genes = genes;
+        }
+    }
+
+    /**
+     * Задача ForkJoin: делит диапазон особей пополам, пока не останется одна порция
+     */
+    private final class EvaluateTask extends RecursiveAction {
+        private final Individual[] individuals;
+        private final int from;
+        private final int to;
+
+        private EvaluateTask(Individual[] individuals, int from, int to) {
+            this.individuals = individuals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                evaluateChunk(individuals, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(individuals, from, middle), new EvaluateTask(individuals, middle, to));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.steelcalc.service;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный по числу записей LRU-кэш результатов расчетов.
+ *
+ * Записи распределены по сегментам (по хэшу ключа), каждый сегмент - отдельный
+ * LinkedHashMap в порядке доступа со своей блокировкой, поэтому параллельные
+ * вызывающие почти не мешают друг другу. Лимит делится между сегментами поровну
+ * (с округлением вниз), вытесняется запись сегмента, к которой дольше всего не обращались.
+ *
+ * Вместе с результатом хранится время его расчета: при попадании оно
+ * засчитывается как сэкономленное.
+ */
+class ResultMemoCache<V> {
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+    private final int maxEntries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    ResultMemoCache(int maxEntries, int concurrency) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Размер кэша должен быть не меньше 1");
+        }
+        // Число сегментов - степень двойки, не больше лимита записей
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxEntries)));
+        this.segments = (Segment<V>[]) new Segment<?>[count];
+        this.segmentMask = count - 1;
+        this.maxEntries = maxEntries;
+        int perSegment = maxEntries / count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    V get(Key key) {
+        Entry<V> entry = segmentFor(key).get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        savedNanos.add(entry.computeNanos);
+        return entry.value;
+    }
+
+    void put(Key key, V value, long computeNanos) {
+        if (segmentFor(key).put(key, new Entry<>(value, computeNanos))) {
+            evictionCount.increment();
+        }
+    }
+
+    void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    long getHitCount() { return hitCount.sum(); }
+    long getMissCount() { return missCount.sum(); }
+    long getEvictionCount() { return evictionCount.sum(); }
+    long getSavedNanos() { return savedNanos.sum(); }
+    int getMaxEntries() { return maxEntries; }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(Key key) {
+        int h = key.hash;
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    /**
+     * Ключ кэша: тип расчета и двоичные представления квантованных входных значений
+     */
+    static final class Key {
+        private final int type;
+        private final long[] bits;
+        private final int hash;
+
+        Key(int type, long[] bits) {
+            this.type = type;
+            this.bits = bits;
+            this.hash = 31 * type + Arrays.hashCode(bits);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash && type == other.type && Arrays.equals(bits, other.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long computeNanos;
+
+        private Entry(V value, long computeNanos) {
+            this.value = value;
+            this.computeNanos = computeNanos;
+        }
+    }
+
+    private static final class Segment<V> {
+        private final int capacity;
+        private final LinkedHashMap<Key, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized Entry<V> get(Key key) {
+            return map.get(key);
+        }
+
+        /**
+         * @return true, если ради новой записи пришлось вытеснить старую
+         */
+        synchronized boolean put(Key key, Entry<V> entry) {
+            map.put(key, entry);
+            if (map.size() <= capacity) {
+                return false;
+            }
+            Iterator<Map.Entry<Key, Entry<V>>> eldest = map.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            return true;
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
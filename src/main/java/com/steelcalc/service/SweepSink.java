@@ -0,0 +1,34 @@
+package com.steelcalc.service;
+
+import com.steelcalc.model.SweepChunk;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Получатель результатов параметрического исследования (таблица, CSV-файл, БД).
+ *
+ * ParametricSweep вызывает методы получателя по очереди (под общей блокировкой),
+ * поэтому реализациям не нужна собственная синхронизация. Ошибка в получателе
+ * останавливает исследование.
+ */
+public interface SweepSink {
+
+    /**
+     * Вызывается один раз перед первой порцией
+     */
+    default void start(String calculationType, List<String> inputNames, List<String> outputNames,
+                       long totalPoints) throws IOException {
+    }
+
+    /**
+     * Очередная порция рассчитанных точек
+     */
+    void accept(SweepChunk chunk) throws IOException;
+
+    /**
+     * Вызывается после последней порции, в том числе при отмене
+     */
+    default void finish(boolean cancelled) throws IOException {
+    }
+}
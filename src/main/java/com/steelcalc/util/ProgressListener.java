@@ -0,0 +1,16 @@
+package com.steelcalc.util;
+
+/**
+ * Получатель сведений о ходе длительной операции (экспорт, импорт).
+ * Вызывается из потока, выполняющего операцию.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param done  сколько уже обработано (записей или байт)
+     * @param total сколько всего, или -1, если неизвестно
+     * @return false, чтобы прервать операцию
+     */
+    boolean onProgress(long done, long total);
+}
@@ -0,0 +1,53 @@
+package com.steelcalc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Канонический хэш входных данных расчета - ключ общего хранилища результатов.
+ *
+ * <p>В хэш входят тип расчета, версия расчетной модели и все входные значения,
+ * упорядоченные по имени. Значения записываются двоичным представлением double
+ * (0.0 и -0.0 считаются одинаковыми), поэтому одинаковые входные данные
+ * всегда дают одинаковый хэш независимо от порядка параметров в карте.</p>
+ *
+ * <p>Версия модели входит в хэш: после изменения формул результаты,
+ * сохраненные прежней версией, перестают находиться по новым ключам.</p>
+ */
+public class ResultHasher {
+
+    private ResultHasher() {
+    }
+
+    /**
+     * SHA-256 канонического представления в виде строки из 64 шестнадцатеричных символов
+     *
+     * @param calculationType тип расчета ("OXYGEN_LANCE", "LAVAL_NOZZLE")
+     * @param modelVersion    версия расчетной модели
+     * @param inputs          входные значения (null-значения пропускаются)
+     */
+    public static String hash(String calculationType, int modelVersion, Map<String, Double> inputs) {
+        StringBuilder canonical = new StringBuilder(64 + inputs.size() * 40);
+        canonical.append(calculationType).append('\n').append(modelVersion).append('\n');
+        for (Map.Entry<String, Double> entry : new TreeMap<>(inputs).entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            canonical.append(entry.getKey()).append('=')
+                    .append(Long.toHexString(Double.doubleToLongBits(entry.getValue() + 0.0)))
+                    .append('\n');
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 обязателен для любой реализации Java
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+}
@@ -1,96 +1,96 @@
-package com.steelcalc.view;
-
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionListener;
-
-public class LoginPanel extends JPanel {
-    private JTextField usernameField;
-    private JPasswordField passwordField;
-    private JButton loginButton;
-    private JButton registerButton;
-    private JLabel statusLabel;
-
-    public LoginPanel() {
-        setLayout(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(5, 5, 5, 5); // Отступы между компонентами
-
-        // Заголовок
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.gridwidth = 2;
-        gbc.anchor = GridBagConstraints.CENTER;
-        add(new JLabel("Вход в систему"), gbc);
-
-        // Метка и поле для логина
-        gbc.gridwidth = 1;
-        gbc.gridy = 1;
-        gbc.gridx = 0;
-        gbc.anchor = GridBagConstraints.LINE_END;
-        add(new JLabel("Логин:"), gbc);
-
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.LINE_START;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-        usernameField = new JTextField(15);
-        add(usernameField, gbc);
-
-        // Метка и поле для пароля
-        gbc.gridy = 2;
-        gbc.gridx = 0;
-        gbc.anchor = GridBagConstraints.LINE_END;
-        add(new JLabel("Пароль:"), gbc);
-
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.LINE_START;
-        passwordField = new JPasswordField(15);
-        add(passwordField, gbc);
-
-        // Кнопки
-        gbc.gridy = 3;
-        gbc.gridx = 0;
-        gbc.gridwidth = 2;
-        gbc.anchor = GridBagConstraints.CENTER;
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
-        loginButton = new JButton("Вход");
-        registerButton = new JButton("Регистрация");
-        buttonPanel.add(loginButton);
-        buttonPanel.add(registerButton);
-        add(buttonPanel, gbc);
-
-        // Статусная метка (для сообщений об ошибках/успехе)
-        gbc.gridy = 4;
-        statusLabel = new JLabel(" ");
-        statusLabel.setForeground(Color.RED);
-        add(statusLabel, gbc);
-    }
-
-    // Геттеры для доступа к компонентам из контроллера
-    public String getUsername() {
-        return usernameField.getText().trim();
-    }
-
-    public String getPassword() {
-        return new String(passwordField.getPassword());
-    }
-
-    public void setLoginButtonListener(ActionListener listener) {
-        loginButton.addActionListener(listener);
-    }
-
-    public void setRegisterButtonListener(ActionListener listener) {
-        registerButton.addActionListener(listener);
-    }
-
-    public void setStatus(String message, boolean isError) {
-        statusLabel.setText(message);
-        statusLabel.setForeground(isError ? Color.RED : new Color(0, 128, 0)); // Красный для ошибки, зелёный для успеха
-    }
-
-    public void clearFields() {
-        usernameField.setText("");
-        passwordField.setText("");
-        statusLabel.setText(" ");
-    }
+package com.steelcalc.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+
+public class LoginPanel extends JPanel {
+    private JTextField usernameField;
+    private JPasswordField passwordField;
+    private JButton loginButton;
+    private JButton registerButton;
+    private JLabel statusLabel;
+
+    public LoginPanel() {
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5); // Отступы между компонентами
+
+        // Заголовок
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.CENTER;
+        add(new JLabel("Вход в систему"), gbc);
+
+        // Метка и поле для логина
+        gbc.gridwidth = 1;
+        gbc.gridy = 1;
+        gbc.gridx = 0;
+        gbc.anchor = GridBagConstraints.LINE_END;
+        add(new JLabel("Логин:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.LINE_START;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        usernameField = new JTextField(15);
+        add(usernameField, gbc);
+
+        // Метка и поле для пароля
+        gbc.gridy = 2;
+        gbc.gridx = 0;
+        gbc.anchor = GridBagConstraints.LINE_END;
+        add(new JLabel("Пароль:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.LINE_START;
+        passwordField = new JPasswordField(15);
+        add(passwordField, gbc);
+
+        // Кнопки
+        gbc.gridy = 3;
+        gbc.gridx = 0;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.CENTER;
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        loginButton = new JButton("Вход");
+        registerButton = new JButton("Регистрация");
+        buttonPanel.add(loginButton);
+        buttonPanel.add(registerButton);
+        add(buttonPanel, gbc);
+
+        // Статусная метка (для сообщений об ошибках/успехе)
+        gbc.gridy = 4;
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.RED);
+        add(statusLabel, gbc);
+    }
+
+    // Геттеры для доступа к компонентам из контроллера
+    public String getUsername() {
+        return usernameField.getText().trim();
+    }
+
+    public String getPassword() {
+        return new String(passwordField.getPassword());
+    }
+
+    public void setLoginButtonListener(ActionListener listener) {
+        loginButton.addActionListener(listener);
+    }
+
+    public void setRegisterButtonListener(ActionListener listener) {
+        registerButton.addActionListener(listener);
+    }
+
+    public void setStatus(String message, boolean isError) {
+        statusLabel.setText(message);
+        statusLabel.setForeground(isError ? Color.RED : new Color(0, 128, 0)); // Красный для ошибки, зелёный для успеха
+    }
+
+    public void clearFields() {
+        usernameField.setText("");
+        passwordField.setText("");
+        statusLabel.setText(" ");
+    }
 }
\ No newline at end of file
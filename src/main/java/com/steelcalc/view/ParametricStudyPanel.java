@@ -0,0 +1,423 @@
+package com.steelcalc.view;
+
+import com.steelcalc.dao.CachingCalculationDao;
+import com.steelcalc.model.GasRegistry;
+import com.steelcalc.model.LavalNozzle;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.OxygenLance;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.SweepAxis;
+import com.steelcalc.model.SweepChunk;
+import com.steelcalc.service.CalculationService;
+import com.steelcalc.service.CsvSweepSink;
+import com.steelcalc.service.DatabaseSweepSink;
+import com.steelcalc.service.ParametricSweep;
+import com.steelcalc.service.SweepSink;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Вкладка параметрического исследования.
+ *
+ * Пользователь задает диапазон и число точек для каждого входного параметра фурмы
+ * или сопла Лаваля; декартово произведение значений считается в фоне (ParametricSweep),
+ * результаты по мере готовности появляются в таблице и при желании
+ * пишутся в CSV-файл и в историю расчетов.
+ */
+public class ParametricStudyPanel extends JPanel {
+
+    // В таблице показываем первые точки сетки (не больше этого числа), остальное - только в CSV/БД
+    private static final int MAX_TABLE_ROWS = 10_000;
+    // Перед сохранением в историю большего числа точек спрашиваем подтверждение
+    private static final int DATABASE_CONFIRM_POINTS = 10_000;
+
+    private static final String[] STUDY_TYPES = {"Кислородная фурма", "Сопло Лаваля"};
+
+    // Параметры фурмы: ключ, подпись, значения "от", "до", "точек" по умолчанию
+    private static final Object[][] OXYGEN_LANCE_DEFAULTS = {
+            {"oxygenFlowRate", "Расход кислорода (м³/ч)", 500.0, 500.0, 1},
+            {"pressure", "Давление (МПа)", 0.8, 1.6, 9},
+            {"nozzleDiameter", "Диаметр сопла (мм)", 30.0, 50.0, 5},
+            {"temperature", "Температура (°C)", 25.0, 25.0, 1},
+            {"oxygenPurity", "Чистота кислорода (%)", 99.5, 99.5, 1}
+    };
+
+    // Параметры сопла Лаваля
+    private static final Object[][] LAVAL_NOZZLE_DEFAULTS = {
+            {"inletPressure", "Давление на входе (атм)", 10.0, 10.0, 1},
+            {"outletPressure", "Давление на выходе (атм)", 1.0, 1.0, 1},
+            {"temperature", "Температура (K)", 300.0, 300.0, 1},
+            {"massFlowRate", "Массовый расход (кг/с)", 1.0, 1.0, 1},
+            {"expansionRatio", "Степень расширения", 1.0, 20.0, 20},
+            {"isSupersonic", "Сверхзвуковой режим (0/1)", 1.0, 1.0, 1}
+    };
+
+    private final int currentUserId;
+    private final CalculationService calculationService = new CalculationService();
+
+    private JComboBox<String> studyTypeComboBox;
+    private JComboBox<String> gasTypeComboBox;
+    private DefaultTableModel axesModel;
+    private JTable axesTable;
+    private JCheckBox csvCheckBox;
+    private JCheckBox databaseCheckBox;
+    private JButton startButton;
+    private JButton stopButton;
+
+    private DefaultTableModel resultsModel;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+
+    private ParametricSweep currentSweep;
+
+    public ParametricStudyPanel(int userId) {
+        this.currentUserId = userId;
+
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        add(createSetupPanel(), BorderLayout.WEST);
+        add(createResultsPanel(), BorderLayout.CENTER);
+        add(createStatusPanel(), BorderLayout.SOUTH);
+
+        loadDefaults();
+    }
+
+    private JPanel createSetupPanel() {
+        JPanel setupPanel = new JPanel(new BorderLayout(5, 5));
+        setupPanel.setBorder(BorderFactory.createTitledBorder("Параметры исследования"));
+        setupPanel.setPreferredSize(new Dimension(430, 0));
+
+        JPanel typePanel = new JPanel(new GridLayout(2, 2, 5, 5));
+        typePanel.add(new JLabel("Объект расчета:"));
+        studyTypeComboBox = new JComboBox<>(STUDY_TYPES);
+        studyTypeComboBox.addActionListener(e -> loadDefaults());
+        typePanel.add(studyTypeComboBox);
+
+        typePanel.add(new JLabel("Рабочий газ:"));
+        gasTypeComboBox = new JComboBox<>(GasRegistry.getNames()); // Встроенные газы и газы из БД
+        typePanel.add(gasTypeComboBox);
+        setupPanel.add(typePanel, BorderLayout.NORTH);
+
+        // Таблица осей: параметр с одной точкой остается постоянным (берется значение "От")
+        axesModel = new DefaultTableModel(new String[]{"Параметр", "От", "До", "Точек"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return column > 0;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                switch (column) {
+                    case 0: return String.class;
+                    case 3: return Integer.class;
+                    default: return Double.class;
+                }
+            }
+        };
+        axesTable = new JTable(axesModel);
+        axesTable.getColumnModel().getColumn(0).setPreferredWidth(200);
+        setupPanel.add(new JScrollPane(axesTable), BorderLayout.CENTER);
+
+        JPanel optionsPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+        csvCheckBox = new JCheckBox("Записывать результаты в CSV-файл");
+        databaseCheckBox = new JCheckBox("Сохранять точки в историю расчётов");
+        optionsPanel.add(csvCheckBox);
+        optionsPanel.add(databaseCheckBox);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        startButton = new JButton("Запустить");
+        startButton.addActionListener(e -> startSweep());
+        stopButton = new JButton("Остановить");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> {
+            if (currentSweep != null) {
+                currentSweep.cancel();
+            }
+        });
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        optionsPanel.add(buttonPanel);
+
+        setupPanel.add(optionsPanel, BorderLayout.SOUTH);
+        return setupPanel;
+    }
+
+    private JPanel createResultsPanel() {
+        JPanel resultsPanel = new JPanel(new BorderLayout());
+        resultsPanel.setBorder(BorderFactory.createTitledBorder("Результаты"));
+
+        resultsModel = new DefaultTableModel() {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable resultsTable = new JTable(resultsModel);
+        resultsTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        resultsTable.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object value) {
+                setHorizontalAlignment(RIGHT);
+                if (value instanceof Double) {
+                    setText(String.format("%.4g", (Double) value));
+                } else {
+                    setText(value != null ? value.toString() : "");
+                }
+            }
+        });
+        resultsPanel.add(new JScrollPane(resultsTable), BorderLayout.CENTER);
+        return resultsPanel;
+    }
+
+    private JPanel createStatusPanel() {
+        JPanel statusPanel = new JPanel(new BorderLayout(10, 0));
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel("Задайте диапазоны параметров и нажмите \"Запустить\"");
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        statusPanel.add(statusLabel, BorderLayout.EAST);
+        return statusPanel;
+    }
+
+    /**
+     * Заполнение таблицы осей значениями по умолчанию для выбранного объекта
+     */
+    private void loadDefaults() {
+        boolean nozzle = isNozzleStudy();
+        gasTypeComboBox.setEnabled(nozzle);
+        axesModel.setRowCount(0);
+        for (Object[] row : nozzle ? LAVAL_NOZZLE_DEFAULTS : OXYGEN_LANCE_DEFAULTS) {
+            axesModel.addRow(new Object[]{row[1], row[2], row[3], row[4]});
+        }
+    }
+
+    private boolean isNozzleStudy() {
+        return studyTypeComboBox.getSelectedIndex() == 1;
+    }
+
+    /**
+     * Сборка исследования из таблицы осей. Базовая конфигурация - значения "От",
+     * параметры с числом точек больше одного становятся осями.
+     */
+    private ParametricSweep buildSweep() {
+        Object[][] defaults = isNozzleStudy() ? LAVAL_NOZZLE_DEFAULTS : OXYGEN_LANCE_DEFAULTS;
+        double[] base = new double[defaults.length];
+        List<SweepAxis> axes = new ArrayList<>();
+
+        for (int row = 0; row < defaults.length; row++) {
+            String label = (String) defaults[row][1];
+            Double from = (Double) axesModel.getValueAt(row, 1);
+            Double to = (Double) axesModel.getValueAt(row, 2);
+            Integer points = (Integer) axesModel.getValueAt(row, 3);
+            if (from == null || to == null || points == null || points < 1) {
+                throw new IllegalArgumentException("Проверьте диапазон параметра \"" + label + "\"");
+            }
+            base[row] = from;
+            if (points > 1) {
+                axes.add(SweepAxis.range((String) defaults[row][0], from, to, points));
+            }
+        }
+
+        if (isNozzleStudy()) {
+            String gasType = (String) gasTypeComboBox.getSelectedItem();
+            LavalNozzle nozzle = new LavalNozzle(gasType, base[0], base[1], base[2], base[3], base[4], base[5] >= 0.5);
+            checkInput(calculationService.validateLavalNozzleInput(nozzle));
+            return ParametricSweep.forLavalNozzle(LavalNozzleInput.from(nozzle), axes);
+        }
+
+        OxygenLance lance = new OxygenLance(base[0], base[1], base[2], base[3], null);
+        lance.setOxygenPurity(base[4]);
+        checkInput(calculationService.validateOxygenLanceInput(lance));
+        return ParametricSweep.forOxygenLance(OxygenLanceInput.from(lance), axes);
+    }
+
+    private void checkInput(String validationError) {
+        if (validationError != null) {
+            throw new IllegalArgumentException("Базовая конфигурация (значения \"От\"): " + validationError);
+        }
+    }
+
+    private void startSweep() {
+        if (axesTable.isEditing()) {
+            axesTable.getCellEditor().stopCellEditing();
+        }
+
+        ParametricSweep sweep;
+        try {
+            sweep = buildSweep();
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Ошибка ввода", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        boolean saveToDatabase = databaseCheckBox.isSelected();
+        if (saveToDatabase && sweep.getTotalPoints() > DATABASE_CONFIRM_POINTS) {
+            int answer = JOptionPane.showConfirmDialog(this,
+                    "В историю будет сохранено " + sweep.getTotalPoints() + " расчетов. Продолжить?",
+                    "Сохранение в историю", JOptionPane.YES_NO_OPTION);
+            if (answer != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        File csvFile = null;
+        if (csvCheckBox.isSelected()) {
+            JFileChooser fileChooser = new JFileChooser();
+            fileChooser.setDialogTitle("Файл результатов исследования");
+            fileChooser.setSelectedFile(new File("study_" +
+                    new SimpleDateFormat("dd-MM-yyyy_HH-mm").format(new Date()) + ".csv"));
+            if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            csvFile = fileChooser.getSelectedFile();
+        }
+
+        // Столбцы результатов: номер точки, входные параметры, результаты
+        List<String> columns = new ArrayList<>();
+        columns.add("№");
+        columns.addAll(sweep.getInputNames());
+        columns.addAll(sweep.getOutputNames());
+        resultsModel.setDataVector(new Object[0][], columns.toArray());
+
+        String title = "Исследование: " + studyTypeComboBox.getSelectedItem() + " " +
+                new SimpleDateFormat("dd.MM.yyyy HH:mm").format(new Date());
+        runSweep(sweep, csvFile, saveToDatabase, title);
+    }
+
+    /**
+     * Запуск исследования в фоновом потоке. Строки таблицы передаются в EDT через publish(),
+     * ход выполнения - через setProgress().
+     */
+    private void runSweep(ParametricSweep sweep, File csvFile, boolean saveToDatabase, String title) {
+        currentSweep = sweep;
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        progressBar.setValue(0);
+        statusLabel.setText("Точек в исследовании: " + sweep.getTotalPoints());
+
+        SwingWorker<Map<String, Object>, Object[]> worker = new SwingWorker<>() {
+
+            @Override
+            protected Map<String, Object> doInBackground() throws Exception {
+                List<SweepSink> sinks = new ArrayList<>();
+                sinks.add(this::showChunk);
+                if (saveToDatabase) {
+                    sinks.add(new DatabaseSweepSink(new CachingCalculationDao(), currentUserId, title));
+                }
+
+                if (csvFile == null) {
+                    return sweep.run(sinks, this::onProgress);
+                }
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(csvFile), StandardCharsets.UTF_8))) {
+                    sinks.add(new CsvSweepSink(writer));
+                    return sweep.run(sinks, this::onProgress);
+                }
+            }
+
+            // Вызывается из пула ForkJoin по очереди для каждой порции. Порции приходят
+            // не по порядку, поэтому в таблицу отбираются точки по номеру в сетке
+            private void showChunk(SweepChunk chunk) {
+                int inputCount = chunk.getInputNames().size();
+                int outputCount = chunk.getOutputNames().size();
+                for (int row = 0; row < chunk.size() && chunk.getFirstIndex() + row < MAX_TABLE_ROWS; row++) {
+                    Object[] values = new Object[1 + inputCount + outputCount];
+                    values[0] = chunk.getFirstIndex() + row + 1;
+                    for (int column = 0; column < inputCount; column++) {
+                        values[1 + column] = chunk.getInput(column, row);
+                    }
+                    for (int column = 0; column < outputCount; column++) {
+                        values[1 + inputCount + column] = chunk.getOutput(column, row);
+                    }
+                    publish(values);
+                }
+            }
+
+            private boolean onProgress(long done, long total) {
+                if (total > 0) {
+                    setProgress((int) Math.min(100, done * 100 / total));
+                }
+                return true;
+            }
+
+            @Override
+            protected void process(List<Object[]> rows) {
+                for (Object[] row : rows) {
+                    resultsModel.insertRow(insertionIndex(((Number) row[0]).longValue()), row);
+                }
+                statusLabel.setText(String.format("Рассчитано %d из %d (%.0f точек/с)",
+                        sweep.getCompletedPoints(), sweep.getTotalPoints(), sweep.getPointsPerSecond()));
+            }
+
+            @Override
+            protected void done() {
+                currentSweep = null;
+                startButton.setEnabled(true);
+                stopButton.setEnabled(false);
+                try {
+                    Map<String, Object> stats = get();
+                    boolean cancelled = (Boolean) stats.get("cancelled");
+                    String message = String.format("%s: %d из %d точек за %.2f с (%.0f точек/с)",
+                            cancelled ? "Остановлено" : "Готово",
+                            (Long) stats.get("evaluated"), (Long) stats.get("total"),
+                            (Long) stats.get("elapsedMillis") / 1000.0, (Double) stats.get("pointsPerSecond"));
+                    if (resultsModel.getRowCount() >= MAX_TABLE_ROWS) {
+                        message += "; в таблице первые " + MAX_TABLE_ROWS + " строк";
+                    }
+                    statusLabel.setText(message);
+                    if (!cancelled) {
+                        progressBar.setValue(100);
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    statusLabel.setText("Исследование прервано с ошибкой");
+                    JOptionPane.showMessageDialog(ParametricStudyPanel.this,
+                            "Ошибка при выполнении исследования: " + cause.getMessage(),
+                            "Ошибка", JOptionPane.ERROR_MESSAGE);
+                    cause.printStackTrace();
+                }
+            }
+        };
+
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                progressBar.setValue((Integer) evt.getNewValue());
+            }
+        });
+        worker.execute();
+    }
+
+    /**
+     * Позиция строки с номером точки number, при которой таблица остается
+     * упорядоченной по номеру (двоичный поиск по первому столбцу)
+     */
+    private int insertionIndex(long number) {
+        int low = 0;
+        int high = resultsModel.getRowCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (((Number) resultsModel.getValueAt(middle, 0)).longValue() < number) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,472 @@
+package com.steelcalc.view;
+
+import com.steelcalc.dao.CachingCalculationDao;
+import com.steelcalc.model.CalculationResult;
+import com.steelcalc.model.GasRegistry;
+import com.steelcalc.model.LavalNozzle;
+import com.steelcalc.model.LavalNozzleInput;
+import com.steelcalc.model.OxygenLanceInput;
+import com.steelcalc.model.ParetoPoint;
+import com.steelcalc.service.CalculationService;
+import com.steelcalc.service.ParetoExplorer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Вкладка многокритериального поиска.
+ *
+ * Поиск (ParetoExplorer) идет в фоне; после каждого поколения текущий
+ * Парето-фронт выводится на диаграмму рассеяния по двум выбранным критериям,
+ * третий критерий показывается цветом точки. Готовый фронт можно сохранить
+ * в историю расчетов группой записей.
+ */
+public class ParetoFrontPanel extends JPanel {
+
+    private static final String[] STUDY_TYPES = {"Кислородная фурма", "Сопло Лаваля"};
+
+    // Подписи параметров на осях диаграммы
+    private static final Map<String, String> LABELS = Map.ofEntries(
+            Map.entry("jetForce", "Сила удара струи, Н"),
+            Map.entry(ParetoExplorer.OXYGEN_CONSUMPTION, "Расход кислорода, м³/ч"),
+            Map.entry("efficiency", "Эффективность, %"),
+            Map.entry("thrust", "Тяга, Н"),
+            Map.entry("massFlowRate", "Массовый расход, кг/с"),
+            Map.entry("exitVelocity", "Скорость истечения, м/с"),
+            Map.entry("machNumber", "Число Маха")
+    );
+
+    private final int currentUserId;
+    private final CalculationService calculationService = new CalculationService();
+
+    private JComboBox<String> studyTypeComboBox;
+    private JComboBox<String> gasTypeComboBox;
+    private JSpinner populationSpinner;
+    private JSpinner generationsSpinner;
+    private JTextField seedField;
+    private JComboBox<String> xAxisComboBox;
+    private JComboBox<String> yAxisComboBox;
+    private JButton startButton;
+    private JButton stopButton;
+    private JButton saveButton;
+
+    private ScatterPanel scatterPanel;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+
+    private ParetoExplorer currentExplorer;
+    private ParetoExplorer finishedExplorer;
+    private List<ParetoPoint> currentFront = List.of();
+
+    public ParetoFrontPanel(int userId) {
+        this.currentUserId = userId;
+
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        add(createSetupPanel(), BorderLayout.WEST);
+        add(createPlotPanel(), BorderLayout.CENTER);
+        add(createStatusPanel(), BorderLayout.SOUTH);
+
+        loadObjectives();
+    }
+
+    private JPanel createSetupPanel() {
+        JPanel setupPanel = new JPanel(new BorderLayout(5, 5));
+        setupPanel.setBorder(BorderFactory.createTitledBorder("Параметры поиска"));
+        setupPanel.setPreferredSize(new Dimension(320, 0));
+
+        JPanel fieldsPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        fieldsPanel.add(new JLabel("Объект расчета:"));
+        studyTypeComboBox = new JComboBox<>(STUDY_TYPES);
+        studyTypeComboBox.addActionListener(e -> loadObjectives());
+        fieldsPanel.add(studyTypeComboBox);
+
+        fieldsPanel.add(new JLabel("Рабочий газ:"));
+        gasTypeComboBox = new JComboBox<>(GasRegistry.getNames());
+        fieldsPanel.add(gasTypeComboBox);
+
+        fieldsPanel.add(new JLabel("Размер популяции:"));
+        populationSpinner = new JSpinner(new SpinnerNumberModel(
+                ParetoExplorer.DEFAULT_POPULATION_SIZE, 10, 5000, 10));
+        fieldsPanel.add(populationSpinner);
+
+        fieldsPanel.add(new JLabel("Поколений:"));
+        generationsSpinner = new JSpinner(new SpinnerNumberModel(
+                ParetoExplorer.DEFAULT_GENERATIONS, 1, 10_000, 10));
+        fieldsPanel.add(generationsSpinner);
+
+        fieldsPanel.add(new JLabel("Seed:"));
+        seedField = new JTextField(String.valueOf(ParetoExplorer.DEFAULT_SEED));
+        fieldsPanel.add(seedField);
+
+        fieldsPanel.add(new JLabel("Ось X:"));
+        xAxisComboBox = new JComboBox<>();
+        xAxisComboBox.addActionListener(e -> updatePlotAxes());
+        fieldsPanel.add(xAxisComboBox);
+
+        fieldsPanel.add(new JLabel("Ось Y:"));
+        yAxisComboBox = new JComboBox<>();
+        yAxisComboBox.addActionListener(e -> updatePlotAxes());
+        fieldsPanel.add(yAxisComboBox);
+        setupPanel.add(fieldsPanel, BorderLayout.NORTH);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        startButton = new JButton("Запустить");
+        startButton.addActionListener(e -> startSearch());
+        stopButton = new JButton("Остановить");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> {
+            if (currentExplorer != null) {
+                currentExplorer.cancel();
+            }
+        });
+        saveButton = new JButton("Сохранить фронт");
+        saveButton.setEnabled(false);
+        saveButton.addActionListener(e -> saveFront());
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(saveButton);
+        setupPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return setupPanel;
+    }
+
+    private JPanel createPlotPanel() {
+        JPanel plotPanel = new JPanel(new BorderLayout());
+        plotPanel.setBorder(BorderFactory.createTitledBorder("Парето-фронт"));
+        scatterPanel = new ScatterPanel();
+        plotPanel.add(scatterPanel, BorderLayout.CENTER);
+        return plotPanel;
+    }
+
+    private JPanel createStatusPanel() {
+        JPanel statusPanel = new JPanel(new BorderLayout(10, 0));
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel("Задайте параметры поиска и нажмите \"Запустить\"");
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        statusPanel.add(statusLabel, BorderLayout.EAST);
+        return statusPanel;
+    }
+
+    private boolean isNozzleStudy() {
+        return studyTypeComboBox.getSelectedIndex() == 1;
+    }
+
+    /**
+     * Базовая конфигурация: значения по умолчанию, как в параметрическом исследовании
+     */
+    private ParetoExplorer buildExplorer() {
+        ParetoExplorer explorer;
+        if (isNozzleStudy()) {
+            String gasType = (String) gasTypeComboBox.getSelectedItem();
+            LavalNozzle nozzle = new LavalNozzle(gasType, 10.0, 1.0, 300.0, 1.0, 5.0, true);
+            String validationError = calculationService.validateLavalNozzleInput(nozzle);
+            if (validationError != null) {
+                throw new IllegalArgumentException(validationError);
+            }
+            explorer = ParetoExplorer.forLavalNozzle(LavalNozzleInput.from(nozzle));
+        } else {
+            explorer = ParetoExplorer.forOxygenLance(new OxygenLanceInput(1500.0, 1.2, 40.0, 25.0, 99.5));
+        }
+
+        explorer.setPopulationSize((Integer) populationSpinner.getValue());
+        explorer.setGenerations((Integer) generationsSpinner.getValue());
+        try {
+            explorer.setSeed(Long.parseLong(seedField.getText().trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Seed должен быть целым числом");
+        }
+        return explorer;
+    }
+
+    /**
+     * Список критериев в выборе осей для выбранного объекта
+     */
+    private void loadObjectives() {
+        gasTypeComboBox.setEnabled(isNozzleStudy());
+        ParetoExplorer explorer = isNozzleStudy()
+                ? ParetoExplorer.forLavalNozzle(new LavalNozzleInput(GasRegistry.getBuiltInGases().get(0),
+                        10.0, 1.0, 300.0, 1.0, 5.0, true))
+                : ParetoExplorer.forOxygenLance(new OxygenLanceInput(1500.0, 1.2, 40.0, 25.0, 99.5));
+
+        List<String> names = new ArrayList<>();
+        for (ParetoExplorer.Objective objective : explorer.getObjectives()) {
+            names.add(objective.parameter());
+        }
+        xAxisComboBox.setModel(new DefaultComboBoxModel<>(names.toArray(new String[0])));
+        yAxisComboBox.setModel(new DefaultComboBoxModel<>(names.toArray(new String[0])));
+        xAxisComboBox.setSelectedIndex(1); // Расход по горизонтали
+        yAxisComboBox.setSelectedIndex(0); // Сила (тяга) по вертикали
+
+        currentFront = List.of();
+        finishedExplorer = null;
+        saveButton.setEnabled(false);
+        scatterPanel.setColorParameter(names.size() > 2 ? names.get(2) : null);
+        updatePlotAxes();
+    }
+
+    private void updatePlotAxes() {
+        if (scatterPanel == null) {
+            return;
+        }
+        scatterPanel.setAxes((String) xAxisComboBox.getSelectedItem(), (String) yAxisComboBox.getSelectedItem());
+        scatterPanel.setPoints(currentFront);
+    }
+
+    private void startSearch() {
+        ParetoExplorer explorer;
+        try {
+            explorer = buildExplorer();
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Ошибка ввода", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        currentExplorer = explorer;
+        finishedExplorer = null;
+        currentFront = List.of();
+        scatterPanel.setPoints(currentFront);
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        saveButton.setEnabled(false);
+        studyTypeComboBox.setEnabled(false);
+        progressBar.setValue(0);
+
+        int generations = explorer.getGenerations();
+        long startTime = System.currentTimeMillis();
+
+        // Фронт каждого поколения передается в EDT через publish(), отображается последний
+        SwingWorker<List<ParetoPoint>, List<ParetoPoint>> worker = new SwingWorker<>() {
+            @Override
+            protected List<ParetoPoint> doInBackground() {
+                return explorer.run((generation, front) -> {
+                    publish(front);
+                    setProgress((int) Math.min(100, generation * 100L / generations));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            protected void process(List<List<ParetoPoint>> fronts) {
+                currentFront = fronts.get(fronts.size() - 1);
+                scatterPanel.setPoints(currentFront);
+                statusLabel.setText(String.format("Поколение %d из %d, точек фронта: %d, расчетов: %d",
+                        explorer.getCompletedGenerations(), generations, currentFront.size(),
+                        explorer.getEvaluations()));
+            }
+
+            @Override
+            protected void done() {
+                currentExplorer = null;
+                startButton.setEnabled(true);
+                stopButton.setEnabled(false);
+                studyTypeComboBox.setEnabled(true);
+                try {
+                    currentFront = get();
+                    finishedExplorer = explorer;
+                    scatterPanel.setPoints(currentFront);
+                    saveButton.setEnabled(!currentFront.isEmpty());
+                    statusLabel.setText(String.format("%s: %d поколений, %d точек фронта, %d расчетов за %.2f с",
+                            explorer.isCancelled() ? "Остановлено" : "Готово",
+                            explorer.getCompletedGenerations(), currentFront.size(), explorer.getEvaluations(),
+                            (System.currentTimeMillis() - startTime) / 1000.0));
+                    if (!explorer.isCancelled()) {
+                        progressBar.setValue(100);
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    statusLabel.setText("Поиск прерван с ошибкой");
+                    JOptionPane.showMessageDialog(ParetoFrontPanel.this,
+                            "Ошибка при выполнении поиска: " + cause.getMessage(),
+                            "Ошибка", JOptionPane.ERROR_MESSAGE);
+                    cause.printStackTrace();
+                }
+            }
+        };
+
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                progressBar.setValue((Integer) evt.getNewValue());
+            }
+        });
+        worker.execute();
+    }
+
+    /**
+     * Сохранение фронта в историю расчетов одной транзакцией: при ошибке
+     * не сохраняется ни одна точка, поэтому повторное сохранение не создает дублей
+     */
+    private void saveFront() {
+        ParetoExplorer explorer = finishedExplorer;
+        List<ParetoPoint> front = currentFront;
+        if (explorer == null || front.isEmpty()) {
+            return;
+        }
+
+        String title = "Парето-фронт: " + studyTypeComboBox.getSelectedItem() + " " +
+                new SimpleDateFormat("dd.MM.yyyy HH:mm").format(new Date());
+        saveButton.setEnabled(false);
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                List<CalculationResult> results = explorer.toCalculationResults(currentUserId, title, front);
+                // Весь фронт - одна порция, то есть одна транзакция
+                return new CachingCalculationDao().saveCalculations(results, results.size()).size();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int saved = get();
+                    if (saved == front.size()) {
+                        JOptionPane.showMessageDialog(ParetoFrontPanel.this,
+                                "Сохранено точек фронта: " + saved + "\nНазвание: \"" + title + " #...\"",
+                                "Успех", JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(ParetoFrontPanel.this,
+                                "Фронт не сохранен (" + saved + " из " + front.size() +
+                                        " точек). Сохранение можно повторить",
+                                "Ошибка", JOptionPane.ERROR_MESSAGE);
+                        saveButton.setEnabled(true);
+                    }
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(ParetoFrontPanel.this,
+                            "Ошибка при сохранении: " + e.getMessage(),
+                            "Ошибка", JOptionPane.ERROR_MESSAGE);
+                    saveButton.setEnabled(true);
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    private static String label(String parameter) {
+        return parameter == null ? "" : LABELS.getOrDefault(parameter, parameter);
+    }
+
+    /**
+     * Диаграмма рассеяния точек фронта: цвет точки - от синего (минимум)
+     * до красного (максимум) значения параметра colorParameter
+     */
+    class ScatterPanel extends JPanel {
+        private static final int MARGIN = 60;
+        private static final int POINT_SIZE = 6;
+
+        private String xParameter;
+        private String yParameter;
+        private String colorParameter;
+        private List<ParetoPoint> points = List.of();
+
+        ScatterPanel() {
+            setBackground(Color.WHITE);
+        }
+
+        void setAxes(String xParameter, String yParameter) {
+            this.xParameter = xParameter;
+            this.yParameter = yParameter;
+            repaint();
+        }
+
+        void setColorParameter(String colorParameter) {
+            this.colorParameter = colorParameter;
+            repaint();
+        }
+
+        void setPoints(List<ParetoPoint> points) {
+            this.points = points;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            int width = getWidth();
+            int height = getHeight();
+            int plotWidth = width - 2 * MARGIN;
+            int plotHeight = height - 2 * MARGIN;
+            if (plotWidth <= 0 || plotHeight <= 0) {
+                return;
+            }
+
+            // Оси
+            g2d.setColor(Color.BLACK);
+            g2d.drawLine(MARGIN, height - MARGIN, width - MARGIN, height - MARGIN);
+            g2d.drawLine(MARGIN, MARGIN, MARGIN, height - MARGIN);
+            g2d.drawString(label(xParameter), width / 2 - 60, height - 15);
+            g2d.drawString(label(yParameter), 10, MARGIN - 20);
+
+            if (points.isEmpty() || xParameter == null || yParameter == null) {
+                g2d.setColor(Color.GRAY);
+                g2d.drawString("Нет данных", width / 2 - 30, height / 2);
+                return;
+            }
+
+            double[] xRange = range(xParameter);
+            double[] yRange = range(yParameter);
+            double[] colorRange = colorParameter != null ? range(colorParameter) : null;
+
+            // Подписи границ осей
+            g2d.setColor(Color.DARK_GRAY);
+            g2d.drawString(String.format("%.4g", xRange[0]), MARGIN, height - MARGIN + 15);
+            g2d.drawString(String.format("%.4g", xRange[1]), width - MARGIN - 40, height - MARGIN + 15);
+            g2d.drawString(String.format("%.4g", yRange[0]), 5, height - MARGIN);
+            g2d.drawString(String.format("%.4g", yRange[1]), 5, MARGIN + 10);
+
+            for (ParetoPoint point : points) {
+                double x = point.value(xParameter);
+                double y = point.value(yParameter);
+                if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                    continue;
+                }
+                int px = MARGIN + (int) Math.round(fraction(x, xRange) * plotWidth);
+                int py = height - MARGIN - (int) Math.round(fraction(y, yRange) * plotHeight);
+
+                float hue = colorRange != null ? (float) (0.66 * (1 - fraction(point.value(colorParameter), colorRange)))
+                        : 0.66f;
+                g2d.setColor(Color.getHSBColor(hue, 0.9f, 0.9f));
+                g2d.fillOval(px - POINT_SIZE / 2, py - POINT_SIZE / 2, POINT_SIZE, POINT_SIZE);
+            }
+
+            if (colorParameter != null) {
+                g2d.setColor(Color.DARK_GRAY);
+                g2d.drawString(String.format("Цвет: %s (%.4g - %.4g)", label(colorParameter),
+                        colorRange[0], colorRange[1]), width - MARGIN - 260, MARGIN - 20);
+            }
+        }
+
+        private double[] range(String parameter) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (ParetoPoint point : points) {
+                double value = point.value(parameter);
+                if (Double.isFinite(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (min > max) {
+                return new double[]{0, 1};
+            }
+            return new double[]{min, max};
+        }
+
+        private double fraction(double value, double[] range) {
+            double span = range[1] - range[0];
+            if (!(span > 0) || !Double.isFinite(value)) {
+                return 0.5;
+            }
+            return (value - range[0]) / span;
+        }
+    }
+}
@@ -1,130 +1,130 @@
-package com.steelcalc.view;
-
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionListener;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
-
-public class RegistrationDialog extends JDialog {
-    private JTextField usernameField;
-    private JPasswordField passwordField;
-    private JPasswordField confirmPasswordField;
-    private JButton registerButton;
-    private JButton cancelButton;
-    private JLabel statusLabel;
-    private boolean success = false;
-
-    public RegistrationDialog(Frame parent) {
-        super(parent, "Регистрация нового пользователя", true);
-        setLayout(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(5, 5, 5, 5);
-
-        // Поле для логина
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.anchor = GridBagConstraints.LINE_END;
-        add(new JLabel("Логин:"), gbc);
-
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.LINE_START;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-        usernameField = new JTextField(15);
-        add(usernameField, gbc);
-
-        // Поле для пароля
-        gbc.gridy = 1;
-        gbc.gridx = 0;
-        gbc.anchor = GridBagConstraints.LINE_END;
-        add(new JLabel("Пароль:"), gbc);
-
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.LINE_START;
-        passwordField = new JPasswordField(15);
-        add(passwordField, gbc);
-
-        // Подтверждение пароля
-        gbc.gridy = 2;
-        gbc.gridx = 0;
-        gbc.anchor = GridBagConstraints.LINE_END;
-        add(new JLabel("Подтвердите пароль:"), gbc);
-
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.LINE_START;
-        confirmPasswordField = new JPasswordField(15);
-        add(confirmPasswordField, gbc);
-
-        // Кнопки
-        gbc.gridy = 3;
-        gbc.gridx = 0;
-        gbc.gridwidth = 2;
-        gbc.anchor = GridBagConstraints.CENTER;
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
-        registerButton = new JButton("Зарегистрировать");
-        cancelButton = new JButton("Отмена");
-        buttonPanel.add(registerButton);
-        buttonPanel.add(cancelButton);
-        add(buttonPanel, gbc);
-
-        // Статусная метка
-        gbc.gridy = 4;
-        statusLabel = new JLabel(" ");
-        statusLabel.setForeground(Color.RED);
-        add(statusLabel, gbc);
-
-        // Настройка окна
-        pack();
-        setLocationRelativeTo(parent);
-        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
-
-        // Обработчик закрытия окна
-        addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent e) {
-                clearFields();
-            }
-        });
-    }
-
-    // Геттеры
-    public String getUsername() {
-        return usernameField.getText().trim();
-    }
-
-    public String getPassword() {
-        return new String(passwordField.getPassword());
-    }
-
-    public String getConfirmedPassword() {
-        return new String(confirmPasswordField.getPassword());
-    }
-
-    public void setRegisterButtonListener(ActionListener listener) {
-        registerButton.addActionListener(listener);
-    }
-
-    public void setCancelButtonListener(ActionListener listener) {
-        cancelButton.addActionListener(listener);
-    }
-
-    public void setStatus(String message, boolean isError) {
-        statusLabel.setText(message);
-        statusLabel.setForeground(isError ? Color.RED : new Color(0, 128, 0));
-    }
-
-    public void clearFields() {
-        usernameField.setText("");
-        passwordField.setText("");
-        confirmPasswordField.setText("");
-        statusLabel.setText(" ");
-    }
-
-    public void setSuccess(boolean success) {
-        this.success = success;
-    }
-
-    public boolean isSuccess() {
-        return success;
-    }
+package com.steelcalc.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+public class RegistrationDialog extends JDialog {
+    private JTextField usernameField;
+    private JPasswordField passwordField;
+    private JPasswordField confirmPasswordField;
+    private JButton registerButton;
+    private JButton cancelButton;
+    private JLabel statusLabel;
+    private boolean success = false;
+
+    public RegistrationDialog(Frame parent) {
+        super(parent, "Регистрация нового пользователя", true);
+        setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+
+        // Поле для логина
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.LINE_END;
+        add(new JLabel("Логин:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.LINE_START;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        usernameField = new JTextField(15);
+        add(usernameField, gbc);
+
+        // Поле для пароля
+        gbc.gridy = 1;
+        gbc.gridx = 0;
+        gbc.anchor = GridBagConstraints.LINE_END;
+        add(new JLabel("Пароль:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.LINE_START;
+        passwordField = new JPasswordField(15);
+        add(passwordField, gbc);
+
+        // Подтверждение пароля
+        gbc.gridy = 2;
+        gbc.gridx = 0;
+        gbc.anchor = GridBagConstraints.LINE_END;
+        add(new JLabel("Подтвердите пароль:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.LINE_START;
+        confirmPasswordField = new JPasswordField(15);
+        add(confirmPasswordField, gbc);
+
+        // Кнопки
+        gbc.gridy = 3;
+        gbc.gridx = 0;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.CENTER;
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        registerButton = new JButton("Зарегистрировать");
+        cancelButton = new JButton("Отмена");
+        buttonPanel.add(registerButton);
+        buttonPanel.add(cancelButton);
+        add(buttonPanel, gbc);
+
+        // Статусная метка
+        gbc.gridy = 4;
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.RED);
+        add(statusLabel, gbc);
+
+        // Настройка окна
+        pack();
+        setLocationRelativeTo(parent);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        // Обработчик закрытия окна
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                clearFields();
+            }
+        });
+    }
+
+    // Геттеры
+    public String getUsername() {
+        return usernameField.getText().trim();
+    }
+
+    public String getPassword() {
+        return new String(passwordField.getPassword());
+    }
+
+    public String getConfirmedPassword() {
+        return new String(confirmPasswordField.getPassword());
+    }
+
+    public void setRegisterButtonListener(ActionListener listener) {
+        registerButton.addActionListener(listener);
+    }
+
+    public void setCancelButtonListener(ActionListener listener) {
+        cancelButton.addActionListener(listener);
+    }
+
+    public void setStatus(String message, boolean isError) {
+        statusLabel.setText(message);
+        statusLabel.setForeground(isError ? Color.RED : new Color(0, 128, 0));
+    }
+
+    public void clearFields() {
+        usernameField.setText("");
+        passwordField.setText("");
+        confirmPasswordField.setText("");
+        statusLabel.setText(" ");
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
 }
\ No newline at end of file